@@ -0,0 +1,95 @@
+package com.web.demo.benchmarks;
+
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.services.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of renaming employees from several threads at once against in-memory H2:
+ * <ul>
+ *     <li>{@code findThenSave}: the previous updateEmp, a SELECT then save() outside a transaction,
+ *     which merges with another SELECT before the UPDATE;</li>
+ *     <li>{@code updateEmp}: the current load-and-save inside one transaction;</li>
+ *     <li>{@code patch}: the single versioned UPDATE behind PATCH /emp/{empId}.</li>
+ * </ul>
+ * Each thread owns a disjoint slice of employees, so the numbers measure round trips rather than
+ * version conflicts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConcurrentUpdateBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepo employeeRepo;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = H2ApplicationContext.start(size);
+        employeeRepo = context.getBean(EmployeeRepo.class);
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Slice {
+        private int firstEmpId;
+        private int[] versions;
+        private int cursor = -1;
+
+        @Setup(Level.Trial)
+        public void setUp(ConcurrentUpdateBenchmark benchmark, ThreadParams threads) {
+            int perThread = benchmark.size / threads.getThreadCount();
+            firstEmpId = 100_000 + threads.getThreadIndex() * perThread;
+            versions = new int[perThread];
+        }
+
+        int next() {
+            cursor = (cursor + 1) % versions.length;
+            return cursor;
+        }
+    }
+
+    @Benchmark
+    public Employee findThenSave(Slice slice) {
+        int empId = slice.firstEmpId + slice.next();
+        Employee employee = employeeRepo.findByEmpId(empId).orElseThrow();
+        employee.setEmpName("Renamed " + empId);
+        return employeeRepo.save(employee);
+    }
+
+    @Benchmark
+    public Employee updateEmp(Slice slice) {
+        int empId = slice.firstEmpId + slice.next();
+        Employee employee = new Employee();
+        employee.setEmpName("Renamed " + empId);
+        return employeeService.updateEmp(empId, employee);
+    }
+
+    @Benchmark
+    public void patch(Slice slice) {
+        int index = slice.next();
+        EmployeePatch patch = new EmployeePatch();
+        patch.setVersion(slice.versions[index]++);
+        patch.setEmpName("Renamed " + index);
+        employeeService.patchEmployee(slice.firstEmpId + index, patch);
+    }
+}
@@ -0,0 +1,52 @@
+package com.web.demo.benchmarks;
+
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.models.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic employee populations for benchmarks. One employee in {@link #SPAN_OF_CONTROL}
+ * is a manager, and salaries are uniform over 10000..99999 so the "salary > 40000" filter keeps about
+ * two thirds of the rows, roughly like the fixture data.
+ */
+public final class EmployeeFixtures {
+
+    public static final int SPAN_OF_CONTROL = 20;
+
+    private static final String[] GENDERS = {"Male", "Female"};
+    private static final String[] CATEGORIES = {"GEN", "OBC", "SC", "ST"};
+    private static final String[] DESIGNATIONS = {"Software Engineer", "Senior Software Engineer",
+            "Technical Lead", "Architect", "Senior Manager"};
+
+    private EmployeeFixtures() {
+    }
+
+    public static List<Employee> population(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        int managers = Math.max(1, size / SPAN_OF_CONTROL);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Employee employee = new Employee();
+            employee.setId(i + 1);
+            employee.setEmpId(100_000 + i);
+            employee.setEmpName("Employee " + i);
+            employee.setFatherName("Father " + i);
+            employee.setGender(GENDERS[i & 1]);
+            employee.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            employee.setManager_id(100_000 + random.nextInt(managers));
+            employee.setSalary(random.nextInt(10_000, 100_000));
+            employee.setDesignation(DESIGNATIONS[random.nextInt(DESIGNATIONS.length)]);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    public static EmployeeDTO toDto(Employee employee) {
+        return new EmployeeDTO(employee.getId(), employee.getEmpId(), employee.getEmpName(), employee.getFatherName(),
+                employee.getGender(), employee.getCategory(), employee.getManager_id(), employee.getDesignation(),
+                employee.getSalary());
+    }
+}
@@ -0,0 +1,63 @@
+package com.web.demo.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.web.demo.codecs.EmployeeJsonModule;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.models.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the list endpoints' response bodies, excluding the socket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class EmployeeJsonBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    /**
+     * {@code bean}: Jackson's reflective bean serializers; {@code blackbird}: the same with generated
+     * accessors; {@code handwritten}: {@link EmployeeJsonModule}, as the application runs.
+     */
+    @Param({"bean", "blackbird", "handwritten"})
+    private String serializers;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> employees;
+    private List<EmployeeDTO> dtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC message converters.
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (serializers) {
+            case "blackbird" -> builder.modulesToInstall(new BlackbirdModule()).build();
+            case "handwritten" -> builder.modulesToInstall(new BlackbirdModule(), new EmployeeJsonModule()).build();
+            default -> builder.build();
+        };
+        employees = EmployeeFixtures.population(size);
+        dtos = employees.stream().map(EmployeeFixtures::toDto).toList();
+    }
+
+    @Benchmark
+    public void serializeEmployees() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), employees);
+    }
+
+    @Benchmark
+    public void serializeEmployeeDtos() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+}
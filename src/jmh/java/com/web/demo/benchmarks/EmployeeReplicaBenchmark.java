@@ -0,0 +1,144 @@
+package com.web.demo.benchmarks;
+
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.ReplicaRow;
+import com.web.demo.indexes.EmployeeReplica;
+import com.web.demo.indexes.ManagerIndex;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.services.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Full-table and per-manager reads through the JPA path ("jpa") versus {@link EmployeeReplica}
+ * ("replica"), on the real application context over an in-memory H2 database. In replica mode the setup
+ * also prints what a replica of {@code size} rows retains on and off the heap, next to the heap the same
+ * rows take as a {@code List<EmployeeDTO>}. The H2 table lives in the same heap, so 10M rows need about 16 GB:
+ * <pre>
+ * mvn -Pjmh verify -DskipTests -Djmh.include=EmployeeReplica -Djmh.args="-p size=1000000 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EmployeeReplicaBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    @Param({"jpa", "replica"})
+    private String source;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeRepo employeeRepo;
+    private EmployeeReplica replica;
+    private int managers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean useReplica = "replica".equals(source);
+        context = H2ApplicationContext.start(size, "--employee.replica.enabled=" + useReplica);
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepo = context.getBean(EmployeeRepo.class);
+        context.getBean(ManagerIndex.class).rebuild();
+        managers = Math.max(1, size / EmployeeFixtures.SPAN_OF_CONTROL);
+        if (useReplica) {
+            // The seeding in H2ApplicationContext bypasses the change events.
+            replica = context.getBean(EmployeeReplica.class);
+            replica.rebuild();
+            printFootprint(size);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> findAll() {
+        return employeeService.findAll();
+    }
+
+    /**
+     * Through {@link ManagerIndex}: report ids, then rows by primary key from the replica or an IN query.
+     */
+    @Benchmark
+    public List<EmployeeDTO> managerReports() {
+        return employeeService.findAllUnderManager(nextManagerId());
+    }
+
+    /**
+     * The same rows found without an index: a scan of the manager column versus a query on the
+     * unindexed MANAGER_ID column.
+     */
+    @Benchmark
+    public List<EmployeeDTO> managerReportsScan() {
+        int managerId = nextManagerId();
+        return replica != null ? replica.findByManagerId(managerId) : employeeRepo.findDtosByManagerId(managerId);
+    }
+
+    /**
+     * A different manager each call, so H2 cannot answer a repeated query from its result cache.
+     */
+    private int nextManagerId() {
+        next = (next + 1) % managers;
+        return 100_000 + next;
+    }
+
+    /**
+     * Measured on a replica of its own, fed from fixtures through a stubbed repository, so neither the H2
+     * table nor the application context sharing this heap disturbs the numbers.
+     */
+    private static void printFootprint(int size) {
+        List<ReplicaRow> rows = EmployeeFixtures.population(size).stream()
+                .map(e -> new ReplicaRow(e.getId(), e.getEmpId(), e.getEmpName(), e.getFatherName(), e.getGender(),
+                        e.getCategory(), e.getManager_id(), e.getSalary(), e.getDesignation(), 0))
+                .toList();
+        EmployeeRepo employeeRepo = mock(EmployeeRepo.class);
+        // Fixture ids run 1..size, so the keyset page after id n starts at index n.
+        when(employeeRepo.findReplicaRowsAfter(anyInt(), any())).thenAnswer(invocation -> {
+            int from = Math.max(0, invocation.<Integer>getArgument(0));
+            return rows.subList(from, Math.min(rows.size(), from + invocation.<Limit>getArgument(1).max()));
+        });
+        EmployeeReplica replica = new EmployeeReplica(employeeRepo, new SimpleMeterRegistry());
+        replica.setEnabled(true);
+
+        long heap = usedHeap();
+        replica.rebuild();
+        long replicaHeap = usedHeap() - heap;
+
+        heap = usedHeap();
+        List<EmployeeDTO> dtos = EmployeeFixtures.population(size).stream().map(EmployeeFixtures::toDto).toList();
+        long dtoHeap = usedHeap() - heap;
+        Reference.reachabilityFence(rows);
+        Reference.reachabilityFence(dtos);
+        System.out.printf("%n%,d rows: replica %,d KB heap + %,d KB direct; List<EmployeeDTO> %,d KB heap%n",
+                replica.size(), replicaHeap / 1024, replica.sizeInBytes() / 1024, dtoHeap / 1024);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,204 @@
+package com.web.demo.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for comparing request handling models against a running instance. Start
+ * the app with VIRTUAL_THREADS=false, run this with label "platform", restart with VIRTUAL_THREADS=true and
+ * run it again with label "virtual"; for the reactive stack restart with --spring.profiles.active=reactive.
+ * Each run writes target/loadtest-&lt;label&gt;.json with throughput and latency percentiles per path, and
+ * the server's peak live threads, heap used and committed JVM memory during the measurement, polled from
+ * its actuator.
+ * <pre>
+ * mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.web.demo.benchmarks.EndpointLoadTest \
+ *     -Dexec.args="platform http://localhost:8081 400 30 /emp/101 /emp/list"
+ * </pre>
+ * Arguments: label, base URL, concurrent clients, seconds per path, then one or more paths.
+ */
+public final class EndpointLoadTest {
+
+    private EndpointLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: <label> <baseUrl> <clients> <seconds> <path>...");
+            System.exit(2);
+        }
+        String label = args[0];
+        String baseUrl = args[1];
+        int clients = Integer.parseInt(args[2]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[3]));
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String path : Arrays.copyOfRange(args, 4, args.length)) {
+            URI uri = URI.create(baseUrl + path);
+            // Short warm-up so JIT and connection setup do not land in the measurement.
+            run(httpClient, uri, clients, Duration.ofSeconds(5));
+            Map<String, Object> result;
+            try (ServerSampler sampler = new ServerSampler(httpClient, baseUrl)) {
+                result = run(httpClient, uri, clients, duration);
+                result.putAll(sampler.peaks());
+            }
+            result.put("path", path);
+            results.add(result);
+            System.out.printf("%-8s %-20s %10.1f req/s  p50 %8.2f ms  p99 %8.2f ms  errors %d  threads %d  "
+                            + "heap %d MiB  committed %d MiB%n", label, path, result.get("throughput"),
+                    result.get("p50Millis"), result.get("p99Millis"), result.get("errors"), result.get("peakThreads"),
+                    result.get("peakHeapMiB"), result.get("peakCommittedMiB"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("clients", clients);
+        report.put("secondsPerPath", duration.toSeconds());
+        report.put("results", results);
+        File output = new File("target/loadtest-" + label + ".json");
+        output.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, report);
+    }
+
+    private static Map<String, Object> run(HttpClient httpClient, URI uri, int clients, Duration duration)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> workers = new ArrayList<>(clients);
+        int[] errors = new int[clients];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                errors[client]++;
+                                continue;
+                            }
+                        } catch (IOException ex) {
+                            errors[client]++;
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> worker : workers) {
+            long[] latencies = worker.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        Arrays.sort(all);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", all.length);
+        result.put("errors", Arrays.stream(errors).sum());
+        result.put("throughput", all.length / (double) duration.toSeconds());
+        result.put("p50Millis", percentile(all, 0.50));
+        result.put("p99Millis", percentile(all, 0.99));
+        result.put("maxMillis", all.length == 0 ? 0d : all[all.length - 1] / 1_000_000d);
+        return result;
+    }
+
+    /**
+     * Polls {@code /actuator/metrics} twice a second while the load runs and keeps the highest readings;
+     * they stay at -1 when the server does not expose the metrics endpoint.
+     */
+    private static final class ServerSampler implements AutoCloseable {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+        private static final long MIB = 1024 * 1024;
+
+        private final HttpClient httpClient;
+        private final String baseUrl;
+        private final Thread poller;
+        private volatile boolean running = true;
+        private long peakThreads = -1;
+        private long peakHeap = -1;
+        private long peakCommitted = -1;
+
+        ServerSampler(HttpClient httpClient, String baseUrl) {
+            this.httpClient = httpClient;
+            this.baseUrl = baseUrl;
+            this.poller = Thread.ofVirtual().start(this::poll);
+        }
+
+        private void poll() {
+            while (running) {
+                try {
+                    peakThreads = Math.max(peakThreads, read("jvm.threads.live"));
+                    peakHeap = Math.max(peakHeap, read("jvm.memory.used?tag=area:heap"));
+                    peakCommitted = Math.max(peakCommitted, read("jvm.memory.committed"));
+                    Thread.sleep(500);
+                } catch (InterruptedException ex) {
+                    return;
+                } catch (IOException ex) {
+                    // A saturated server may not answer every poll; keep what was read.
+                }
+            }
+        }
+
+        private long read(String metric) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + metric))
+                    .timeout(Duration.ofSeconds(5)).GET().build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+            JsonNode measurement = MAPPER.readTree(response.body()).path("measurements").path(0);
+            return (long) measurement.path("value").asDouble(-1);
+        }
+
+        Map<String, Object> peaks() {
+            Map<String, Object> peaks = new LinkedHashMap<>();
+            peaks.put("peakThreads", peakThreads);
+            peaks.put("peakHeapMiB", peakHeap < 0 ? -1 : peakHeap / MIB);
+            peaks.put("peakCommittedMiB", peakCommitted < 0 ? -1 : peakCommitted / MIB);
+            return peaks;
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            running = false;
+            poller.interrupt();
+            poller.join();
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0d;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000d;
+    }
+}
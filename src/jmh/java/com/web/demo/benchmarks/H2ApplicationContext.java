@@ -0,0 +1,53 @@
+package com.web.demo.benchmarks;
+
+import com.web.demo.TestingApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the real application context on an in-memory H2 database seeded with
+ * {@link EmployeeFixtures#population(int)}, for benchmarks that need JPA round trips.
+ */
+public final class H2ApplicationContext {
+
+    private H2ApplicationContext() {
+    }
+
+    public static ConfigurableApplicationContext start(int size, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                // Command-line arguments, so they win over application.yaml.
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                // Measure the query path itself, not the second-level cache.
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.threads.virtual.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=OFF",
+                "--logging.level.org.hibernate.orm.jdbc.bind=OFF",
+                "--logging.level.org.springframework.web=OFF"));
+        args.addAll(List.of(extraArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TestingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+
+        List<Object[]> rows = EmployeeFixtures.population(size).stream()
+                .map(e -> new Object[]{e.getId(), e.getEmpId(), e.getEmpName(), e.getFatherName(), e.getGender(),
+                        e.getCategory(), e.getManager_id(), e.getSalary(), e.getDesignation(), 0})
+                .toList();
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO EMPLOYEE_DATA (ID, EMP_ID, EMP_NAME, FATHER_NAME, "
+                + "GENDER, CATEGORY, MANAGER_ID, SALARY, DESIGNATION, VERSION) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return context;
+    }
+}
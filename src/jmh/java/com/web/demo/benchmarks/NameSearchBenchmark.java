@@ -0,0 +1,126 @@
+package com.web.demo.benchmarks;
+
+import com.web.demo.dtos.NameRow;
+import com.web.demo.indexes.NameSearchIndex;
+import com.web.demo.repos.EmployeeRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency distribution (read p0.99 off the sample-time output) of {@link NameSearchIndex#search} over
+ * {@code size} employees with two-word names built from random syllables, so the vocabulary and posting
+ * lengths resemble real names rather than the numbered fixtures. Each call takes the next of 1024
+ * precomputed queries of the given {@code kind}: a whole given name ("exact"), its first three letters
+ * ("prefix"), a given name with two letters swapped ("typo"), or a given name plus a surname prefix
+ * ("twoWords"). The setup prints the distinct terms and the index footprint:
+ * <pre>
+ * mvn -Pjmh verify -DskipTests -Djmh.include=NameSearch -Djmh.args="-p size=1000000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class NameSearchBenchmark {
+
+    private static final String[] SYLLABLES = {"ha", "ri", "ra", "me", "sh", "su", "pri", "ya", "ku", "mar",
+            "an", "and", "vi", "jay", "de", "vi", "la", "ksh", "mi", "na", "ro", "han", "sa", "ni", "ta", "pa",
+            "dma", "go", "pal", "kri", "shna", "ar", "jun", "bha", "nu", "ch", "and", "ra", "se", "kar"};
+    private static final int QUERIES = 1024;
+
+    @Param({"1000000", "5000000"})
+    private int size;
+
+    @Param({"exact", "prefix", "typo", "twoWords"})
+    private String kind;
+
+    private NameSearchIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] givenNames = vocabulary(random, 20_000, 2, 3);
+        String[] surnames = vocabulary(random, 5_000, 2, 4);
+        List<NameRow> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(new NameRow(i + 1, 100_000 + i,
+                    pick(random, givenNames) + " " + pick(random, surnames),
+                    pick(random, givenNames) + " " + pick(random, surnames)));
+        }
+        EmployeeRepo employeeRepo = mock(EmployeeRepo.class);
+        // Ids run 1..size, so the keyset page after id n starts at index n.
+        when(employeeRepo.findNameRowsAfter(anyInt(), any())).thenAnswer(invocation -> {
+            int from = Math.max(0, invocation.<Integer>getArgument(0));
+            return rows.subList(from, Math.min(rows.size(), from + invocation.<Limit>getArgument(1).max()));
+        });
+        index = new NameSearchIndex(employeeRepo, new SimpleMeterRegistry());
+
+        long heap = usedHeap();
+        index.rebuild();
+        long indexHeap = usedHeap() - heap;
+        System.out.printf("%n%,d employees: index reports %,d KB, heap grew %,d KB%n",
+                index.size(), index.sizeInBytes() / 1024, indexHeap / 1024);
+
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String given = pick(random, givenNames);
+            queries[i] = switch (kind) {
+                case "exact" -> given;
+                case "prefix" -> given.substring(0, 3);
+                case "typo" -> given.substring(0, 1) + given.charAt(2) + given.charAt(1) + given.substring(3);
+                case "twoWords" -> given + " " + pick(random, surnames).substring(0, 3);
+                default -> throw new IllegalArgumentException(kind);
+            };
+        }
+    }
+
+    @Benchmark
+    public int[] search() {
+        next = (next + 1) & (QUERIES - 1);
+        return index.search(queries[next], true, 20);
+    }
+
+    private static String[] vocabulary(Random random, int words, int minSyllables, int maxSyllables) {
+        String[] vocabulary = new String[words];
+        for (int i = 0; i < words; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllables = minSyllables + random.nextInt(maxSyllables - minSyllables + 1);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary[i] = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+        }
+        return vocabulary;
+    }
+
+    /**
+     * Skewed towards the start of the vocabulary, as common names are.
+     */
+    private static String pick(Random random, String[] vocabulary) {
+        double u = random.nextDouble();
+        return vocabulary[(int) (u * u * vocabulary.length)];
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,81 @@
+package com.web.demo.benchmarks;
+
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.indexes.ManagerIndex;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.services.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap allocated per read request when rows are hydrated as managed entities and copied into DTOs
+ * ("entities", the previous implementation) versus selected straight into DTOs ("projection"). Runs the
+ * real application context against an in-memory H2 database; run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} (bytes per operation):
+ * <pre>
+ * mvn -Pjmh verify -DskipTests -Djmh.include=ReadPathAllocation -Djmh.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReadPathAllocationBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepo employeeRepo;
+    private EmployeeService employeeService;
+    private int managerId;
+    private List<Integer> reportIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = H2ApplicationContext.start(size);
+        employeeRepo = context.getBean(EmployeeRepo.class);
+        employeeService = context.getBean(EmployeeService.class);
+
+        ManagerIndex managerIndex = context.getBean(ManagerIndex.class);
+        managerIndex.rebuild();
+        managerId = 100_000;
+        reportIds = Arrays.stream(managerIndex.reportsOf(managerId)).boxed().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> managerReportsEntities() {
+        return employeeRepo.findAllById(reportIds).stream()
+                .filter(e -> e.getManager_id() == managerId)
+                .map(EmployeeFixtures::toDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> managerReportsProjection() {
+        return employeeService.findAllUnderManager(managerId);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> allEmployeesEntities() {
+        List<Employee> employees = employeeRepo.findAll();
+        return employees.stream().map(EmployeeFixtures::toDto).toList();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> allEmployeesProjection() {
+        return employeeRepo.findAllDtos();
+    }
+}
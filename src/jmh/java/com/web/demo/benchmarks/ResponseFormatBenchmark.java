@@ -0,0 +1,114 @@
+package com.web.demo.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.web.demo.codecs.EmployeeColumnarCodec;
+import com.web.demo.models.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU per response format for a {@code /emp/list} body, optionally gzipped the way Tomcat's
+ * {@code server.compression} does it. The payload size of each combination is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ResponseFormatBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"json", "smile", "cbor", "columnar"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Same defaults Spring Boot applies to the MVC message converters.
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            default -> builder.build();
+        };
+        employees = EmployeeFixtures.population(size);
+        CountingOutputStream counter = new CountingOutputStream();
+        serialize(counter);
+        System.out.printf("%n%s/%s payload for %d employees: %d bytes%n", format, compression, size, counter.bytes);
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        serialize(OutputStream.nullOutputStream());
+    }
+
+    private void serialize(OutputStream sink) throws IOException {
+        OutputStream out = "gzip".equals(compression) ? new GZIPOutputStream(sink, 8192) : sink;
+        if ("columnar".equals(format)) {
+            EmployeeColumnarCodec.write(employees, Employee.class, out);
+        } else {
+            objectMapper.writeValue(new NonClosingOutputStream(out), employees);
+        }
+        if (out instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+
+    /**
+     * Jackson closes the target after writeValue; the gzip trailer still has to be written after it.
+     */
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+
+        private NonClosingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+    }
+}
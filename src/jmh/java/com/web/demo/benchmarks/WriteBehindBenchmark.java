@@ -0,0 +1,104 @@
+package com.web.demo.benchmarks;
+
+import com.web.demo.dtos.EmployeeWrite;
+import com.web.demo.exceptions.WriteBehindQueueFullException;
+import com.web.demo.models.Employee;
+import com.web.demo.queues.EmployeeWriteBehindQueue;
+import com.web.demo.services.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renames per second from several threads against in-memory H2, synchronously ({@code updateEmp}) and
+ * through the write-behind queue ({@code writeBehind}), over {@code hotEmployees} distinct employees.
+ * A synchronous rename that loses a version race is retried, as a client would after a 409.
+ * A refused write-behind call retries after a short pause, so its throughput is bounded by the flush
+ * rate once the queue is full; fewer distinct employees means more coalescing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class WriteBehindBenchmark {
+
+    private static final int SIZE = 100_000;
+
+    @Param({"100", "100000"})
+    private int hotEmployees;
+
+    @Param({"true", "false"})
+    private boolean fsync;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeWriteBehindQueue writeBehindQueue;
+    private Path journalDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journalDir = Files.createTempDirectory("write-behind-bench");
+        context = H2ApplicationContext.start(SIZE,
+                "--employee.write-behind.enabled=true",
+                "--employee.write-behind.fsync=" + fsync,
+                "--employee.write-behind.journal=" + journalDir.resolve("journal"));
+        employeeService = context.getBean(EmployeeService.class);
+        writeBehindQueue = context.getBean(EmployeeWriteBehindQueue.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (var files = Files.list(journalDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(journalDir);
+    }
+
+    @Benchmark
+    public Employee updateEmp() {
+        int empId = nextEmpId();
+        while (true) {
+            try {
+                return employeeService.updateEmp(empId, renamed(empId));
+            } catch (OptimisticLockingFailureException ex) {
+                // Another thread renamed the same hot employee first; a client would retry the 409.
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeBehind() throws InterruptedException {
+        int empId = nextEmpId();
+        EmployeeWrite write = EmployeeWrite.renamed(empId, renamed(empId));
+        while (true) {
+            try {
+                writeBehindQueue.enqueue(write);
+                return;
+            } catch (WriteBehindQueueFullException ex) {
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private int nextEmpId() {
+        return 100_000 + ThreadLocalRandom.current().nextInt(hotEmployees);
+    }
+
+    private static Employee renamed(int empId) {
+        Employee employee = new Employee();
+        employee.setEmpName("Renamed " + empId);
+        return employee;
+    }
+}
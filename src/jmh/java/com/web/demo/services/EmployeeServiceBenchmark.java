@@ -0,0 +1,50 @@
+package com.web.demo.services;
+
+import com.web.demo.benchmarks.EmployeeFixtures;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.utils.IntHashSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory hot paths of {@link EmployeeServiceImpl}; lives in the service package to reach the
+ * package-private helpers directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class EmployeeServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private EmployeeServiceImpl employeeService;
+    private List<EmployeeDTO> employees;
+    private IntHashSet managerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employeeService = new EmployeeServiceImpl(null, null, null, null, null, null, null, null, null);
+        employees = EmployeeFixtures.population(size).stream().map(EmployeeFixtures::toDto).toList();
+        managerIds = employeeService.getMangerIds(employees);
+    }
+
+    @Benchmark
+    public void reassignDesignation(Blackhole blackhole) {
+        for (EmployeeDTO employee : employees) {
+            employeeService.reassignDesignation(employee, managerIds);
+        }
+        blackhole.consume(employees);
+    }
+
+    @Benchmark
+    public IntHashSet getMangerIds() {
+        return employeeService.getMangerIds(employees);
+    }
+}
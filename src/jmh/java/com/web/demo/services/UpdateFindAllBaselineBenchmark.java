@@ -0,0 +1,70 @@
+package com.web.demo.services;
+
+import com.web.demo.benchmarks.EmployeeFixtures;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.models.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A copy of the previous {@link EmployeeServiceImpl#updateFindAll()}, which scanned a boxed manager-id list
+ * per employee, as the baseline for {@link UpdateFindAllBenchmark}. It has no sequential or parallel mode,
+ * so it lives apart and runs once per size. Quadratic: expect minutes per operation at 1M rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UpdateFindAllBaselineBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = EmployeeFixtures.population(size);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> listLookupBaseline() {
+        List<Integer> managerIds = employees.stream()
+                .map(Employee::getManager_id)
+                .distinct()
+                .collect(Collectors.toList());
+        List<String> designations = baselineDesignations();
+        return employees.stream()
+                .map(m -> {
+                    EmployeeDTO dto = EmployeeFixtures.toDto(m);
+                    if (!managerIds.contains(dto.getEmpId())) {
+                        dto.setDesignation(designations.get(baselineRandom(0, 8)));
+                        dto.setSalary(baselineRandom(10000, 70000));
+                    } else {
+                        dto.setDesignation(designations.get(10));
+                        dto.setSalary(baselineRandom(80000, 99000));
+                    }
+                    return dto;
+                }).toList();
+    }
+
+    private static int baselineRandom(int min, int max) {
+        Random r = new Random();
+        return r.nextInt(max - min) + min;
+    }
+
+    private static List<String> baselineDesignations() {
+        List<String> designations = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            designations.add("Designation " + i);
+        }
+        return designations;
+    }
+}
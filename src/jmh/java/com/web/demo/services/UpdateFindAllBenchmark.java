@@ -0,0 +1,53 @@
+package com.web.demo.services;
+
+import com.web.demo.benchmarks.EmployeeFixtures;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.indexes.EmployeeReplica;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The whole {@link EmployeeServiceImpl#updateFindAll()} pipeline over a stubbed repository, sequential and
+ * parallel; {@link UpdateFindAllBaselineBenchmark} measures the previous implementation at the same sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UpdateFindAllBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"sequential", "parallel"})
+    private String mode;
+
+    private EmployeeServiceImpl employeeService;
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = EmployeeFixtures.population(size);
+        EmployeeRepo employeeRepo = mock(EmployeeRepo.class);
+        when(employeeRepo.findAllDtos()).thenReturn(employees.stream().map(EmployeeFixtures::toDto).toList());
+        // Left disabled, so the DTOs come from the stubbed repository.
+        EmployeeReplica employeeReplica = new EmployeeReplica(employeeRepo, new SimpleMeterRegistry());
+        employeeService = new EmployeeServiceImpl(employeeRepo, null, null, null, null, employeeReplica, null, null, null);
+        employeeService.setParallelThreshold("parallel".equals(mode) ? 0 : Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> updateFindAll() {
+        return employeeService.updateFindAll();
+    }
+}
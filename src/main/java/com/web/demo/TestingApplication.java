@@ -1,9 +1,18 @@
 package com.web.demo;
 
+import com.web.demo.repos.ReactiveEmployeeRepo;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableAsync;
 
+@EnableAsync
 @SpringBootApplication
+// Employee is a JPA entity, so JPA would also claim the R2DBC repository over it and refuse it as reactive.
+@EnableJpaRepositories(excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+		classes = ReactiveEmployeeRepo.class))
 public class TestingApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,130 @@
+package com.web.demo.caches;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded read-through cache of employees keyed by {@code empId}. Misses are cached too (with a shorter
+ * TTL) so polling for an unknown id does not reach the database every time. Entries are invalidated
+ * from {@link EmployeeChangedEvent}s after the writing transaction commits, and each event advances
+ * {@link #dataVersion()}.
+ */
+@Component
+public class EmployeeCache {
+
+    private final Cache<Integer, Optional<Employee>> cache;
+    // Deletes are published by primary key, so remember which empId each cached row lives under.
+    private final Map<Integer, Integer> empIdById = new ConcurrentHashMap<>();
+    // Generations restart at 0, so a per-start epoch keeps versions handed out before a restart from matching.
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong generation = new AtomicLong();
+
+    public EmployeeCache(MeterRegistry meterRegistry,
+                         @Value("${employee.cache.maximum-size:100000}") long maximumSize,
+                         @Value("${employee.cache.ttl:10m}") Duration ttl,
+                         @Value("${employee.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Integer, Optional<Employee>>() {
+                    @Override
+                    public long expireAfterCreate(Integer key, Optional<Employee> value, long currentTime) {
+                        return (value.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer key, Optional<Employee> value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer key, Optional<Employee> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // Run removal callbacks inline so the id -> empId map never lags behind the cache.
+                .executor(Runnable::run)
+                .removalListener((Integer key, Optional<Employee> value, RemovalCause cause) -> {
+                    if (value != null) {
+                        value.ifPresent(employee -> empIdById.remove(employee.getId(), key));
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employee");
+    }
+
+    public Optional<Employee> get(int empId, IntFunction<Optional<Employee>> loader) {
+        return cache.get(empId, key -> {
+            Optional<Employee> loaded = loader.apply(key);
+            loaded.ifPresent(employee -> empIdById.put(employee.getId(), key));
+            return loaded;
+        });
+    }
+
+    public void invalidate(int empId) {
+        cache.invalidate(empId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        empIdById.clear();
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Opaque token that changes after every employee change this instance has seen. Read it before the
+     * data it validates, so the data is never older than the token.
+     */
+    public String dataVersion() {
+        return epoch + "." + generation.get();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> event.getEmployees().forEach(employee -> {
+                Integer previousEmpId = empIdById.get(employee.getId());
+                if (previousEmpId != null) {
+                    invalidate(previousEmpId);
+                }
+                invalidate(employee.getEmpId());
+            });
+            case DELETED -> event.getIds().forEach(id -> {
+                Integer empId = empIdById.get(id);
+                if (empId != null) {
+                    invalidate(empId);
+                }
+            });
+            case PATCHED -> invalidate(event.getEmpId());
+            case CLEARED -> invalidateAll();
+        }
+        generation.incrementAndGet();
+    }
+}
@@ -0,0 +1,205 @@
+package com.web.demo.codecs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Makes {@code server.compression.min-response-size} apply to bodies written by message converters.
+ * Tomcat only checks the threshold against a known {@code Content-Length}, which Jackson responses never
+ * set, so it gzips even a 100-byte JSON object. This holds back the first {@code threshold} bytes; a body
+ * that ends within them is sent with its {@code Content-Length} (and stays uncompressed), a larger one
+ * streams on as before. Async responses stop buffering when the request thread returns, and non-blocking
+ * ones as soon as a {@link WriteListener} is set.
+ */
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+
+    public CompressionThresholdFilter(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (threshold <= 0 || acceptEncoding == null || !acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            chain.doFilter(request, response);
+            return;
+        }
+        BufferingResponse buffering = new BufferingResponse(response, threshold);
+        try {
+            chain.doFilter(request, buffering);
+        } finally {
+            buffering.release(!request.isAsyncStarted());
+        }
+    }
+
+    private static final class BufferingResponse extends HttpServletResponseWrapper {
+
+        private final int threshold;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private ServletOutputStream target;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        private boolean nonBlocking;
+
+        private BufferingResponse(HttpServletResponse response, int threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[]{(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        BufferingResponse.this.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        // Converters flush after every body; only flush once past the threshold.
+                        BufferingResponse.this.flushTarget();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return BufferingResponse.this.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        BufferingResponse.this.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        /**
+         * Spring MVC calls this after every {@code ResponseEntity} to push the headers out; committing here
+         * would lose the length, so it waits until the body is known to be large.
+         */
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            synchronized (this) {
+                if (buffer == null) {
+                    super.flushBuffer();
+                }
+            }
+        }
+
+        @Override
+        public synchronized void resetBuffer() {
+            super.resetBuffer();
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        private synchronized void write(byte[] b, int off, int len) throws IOException {
+            if (buffer != null && buffer.size() + len < threshold) {
+                buffer.write(b, off, len);
+                return;
+            }
+            release(false);
+            target().write(b, off, len);
+        }
+
+        // Writes into the buffer never block; the container's stream only answers once it is non-blocking.
+        private synchronized boolean isReady() {
+            try {
+                return !nonBlocking || target().isReady();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private synchronized void setWriteListener(WriteListener writeListener) {
+            try {
+                release(false);
+                target().setWriteListener(writeListener);
+                nonBlocking = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private synchronized void flushTarget() throws IOException {
+            if (buffer == null) {
+                target().flush();
+            }
+        }
+
+        /**
+         * Writes out whatever is buffered and stops buffering.
+         *
+         * @param complete whether the body is finished, so its length is known
+         */
+        private synchronized void release(boolean complete) throws IOException {
+            if (complete && writer != null) {
+                writer.flush();
+            }
+            if (buffer == null) {
+                return;
+            }
+            ByteArrayOutputStream buffered = buffer;
+            buffer = null;
+            if (complete && buffered.size() == 0) {
+                return;
+            }
+            if (complete && !isCommitted()) {
+                setContentLength(buffered.size());
+            }
+            buffered.writeTo(target());
+        }
+
+        private ServletOutputStream target() throws IOException {
+            if (target == null) {
+                target = super.getOutputStream();
+            }
+            return target;
+        }
+    }
+}
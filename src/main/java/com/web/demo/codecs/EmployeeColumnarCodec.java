@@ -0,0 +1,292 @@
+package com.web.demo.codecs;
+
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.models.Employee;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * A compact column-oriented encoding of {@link Employee} and {@link EmployeeDTO} lists. After a header
+ * ({@code "EMPC"}, format version, row kind, row count) every field is written as one column:
+ * <ul>
+ *     <li>ints as zigzag varints, {@code id} and {@code empId} delta-encoded against the previous row;</li>
+ *     <li>{@code empName} and {@code fatherName} as varint length + 1 (0 for null) and UTF-8 bytes;</li>
+ *     <li>{@code gender}, {@code category} and {@code designation} as a dictionary of distinct values
+ *     followed by one varint code per row (0 for null).</li>
+ * </ul>
+ * Column order follows the field order of {@link EmployeeDTO}, with {@code version} last for employees.
+ */
+public final class EmployeeColumnarCodec {
+
+    private static final int MAGIC = 0x454D5043;
+    private static final int FORMAT_VERSION = 1;
+    private static final int KIND_EMPLOYEE = 'E';
+    private static final int KIND_DTO = 'D';
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final RowShape<Employee> EMPLOYEE = new RowShape<>(KIND_EMPLOYEE, Employee::new, List.of(
+            new IntColumn<>(Employee::getId, Employee::setId, true),
+            new IntColumn<>(Employee::getEmpId, Employee::setEmpId, true),
+            new StringColumn<>(Employee::getEmpName, Employee::setEmpName),
+            new StringColumn<>(Employee::getFatherName, Employee::setFatherName),
+            new DictionaryColumn<>(Employee::getGender, Employee::setGender),
+            new DictionaryColumn<>(Employee::getCategory, Employee::setCategory),
+            new IntColumn<>(Employee::getManager_id, Employee::setManager_id, false),
+            new DictionaryColumn<>(Employee::getDesignation, Employee::setDesignation),
+            new IntColumn<>(Employee::getSalary, Employee::setSalary, false),
+            new IntColumn<>(Employee::getVersion, Employee::setVersion, false)));
+
+    private static final RowShape<EmployeeDTO> DTO = new RowShape<>(KIND_DTO, EmployeeDTO::new, List.of(
+            new IntColumn<>(EmployeeDTO::getId, EmployeeDTO::setId, true),
+            new IntColumn<>(EmployeeDTO::getEmpId, EmployeeDTO::setEmpId, true),
+            new StringColumn<>(EmployeeDTO::getEmpName, EmployeeDTO::setEmpName),
+            new StringColumn<>(EmployeeDTO::getFatherName, EmployeeDTO::setFatherName),
+            new DictionaryColumn<>(EmployeeDTO::getGender, EmployeeDTO::setGender),
+            new DictionaryColumn<>(EmployeeDTO::getCategory, EmployeeDTO::setCategory),
+            new IntColumn<>(EmployeeDTO::getManager_id, EmployeeDTO::setManager_id, false),
+            new DictionaryColumn<>(EmployeeDTO::getDesignation, EmployeeDTO::setDesignation),
+            new IntColumn<>(EmployeeDTO::getSalary, EmployeeDTO::setSalary, false)));
+
+    private EmployeeColumnarCodec() {
+    }
+
+    /**
+     * Whether lists of {@code rowType} can be encoded.
+     */
+    public static boolean supports(Class<?> rowType) {
+        return rowType == Employee.class || rowType == EmployeeDTO.class;
+    }
+
+    /**
+     * Writes {@code rows}, all of {@code rowType}, and flushes {@code out} without closing it.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void write(List<T> rows, Class<T> rowType, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        write(rows, (RowShape<T>) shapeOf(rowType), buffered);
+        buffered.flush();
+    }
+
+    /**
+     * Reads a list written by {@link #write}; {@code rowType} must match the encoded row kind.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> read(InputStream in, Class<T> rowType) throws IOException {
+        RowShape<T> shape = (RowShape<T>) shapeOf(rowType);
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        if (readFixedInt(buffered) != MAGIC || readByte(buffered) != FORMAT_VERSION) {
+            throw new IOException("Not an employee columnar stream");
+        }
+        int kind = readByte(buffered);
+        if (kind != shape.kind()) {
+            throw new IOException("Stream holds row kind '" + (char) kind + "', expected " + rowType.getSimpleName());
+        }
+        int size = readVarint(buffered);
+        List<T> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(shape.factory().get());
+        }
+        for (Column<T> column : shape.columns()) {
+            column.read(rows, buffered);
+        }
+        return rows;
+    }
+
+    private static RowShape<?> shapeOf(Class<?> rowType) {
+        if (rowType == Employee.class) {
+            return EMPLOYEE;
+        }
+        if (rowType == EmployeeDTO.class) {
+            return DTO;
+        }
+        throw new IllegalArgumentException("No columnar encoding for " + rowType.getName());
+    }
+
+    private static <T> void write(List<T> rows, RowShape<T> shape, OutputStream out) throws IOException {
+        writeFixedInt(out, MAGIC);
+        out.write(FORMAT_VERSION);
+        out.write(shape.kind());
+        writeVarint(out, rows.size());
+        for (Column<T> column : shape.columns()) {
+            column.write(rows, out);
+        }
+    }
+
+    private record RowShape<T>(int kind, Supplier<T> factory, List<Column<T>> columns) {
+    }
+
+    private sealed interface Column<T> permits IntColumn, StringColumn, DictionaryColumn {
+
+        void write(List<T> rows, OutputStream out) throws IOException;
+
+        void read(List<T> rows, InputStream in) throws IOException;
+    }
+
+    private record IntColumn<T>(ToIntFunction<T> getter, ObjIntConsumer<T> setter, boolean delta) implements Column<T> {
+
+        @Override
+        public void write(List<T> rows, OutputStream out) throws IOException {
+            int previous = 0;
+            for (T row : rows) {
+                int value = getter.applyAsInt(row);
+                writeVarint(out, zigzag(delta ? value - previous : value));
+                previous = value;
+            }
+        }
+
+        @Override
+        public void read(List<T> rows, InputStream in) throws IOException {
+            int previous = 0;
+            for (T row : rows) {
+                int value = unzigzag(readVarint(in)) + (delta ? previous : 0);
+                setter.accept(row, value);
+                previous = value;
+            }
+        }
+    }
+
+    private record StringColumn<T>(Function<T, String> getter, BiConsumer<T, String> setter) implements Column<T> {
+
+        @Override
+        public void write(List<T> rows, OutputStream out) throws IOException {
+            for (T row : rows) {
+                writeString(out, getter.apply(row));
+            }
+        }
+
+        @Override
+        public void read(List<T> rows, InputStream in) throws IOException {
+            for (T row : rows) {
+                setter.accept(row, readString(in));
+            }
+        }
+    }
+
+    private record DictionaryColumn<T>(Function<T, String> getter, BiConsumer<T, String> setter) implements Column<T> {
+
+        @Override
+        public void write(List<T> rows, OutputStream out) throws IOException {
+            Map<String, Integer> codes = new HashMap<>();
+            List<String> dictionary = new ArrayList<>();
+            int[] rowCodes = new int[rows.size()];
+            for (int i = 0; i < rowCodes.length; i++) {
+                String value = getter.apply(rows.get(i));
+                if (value != null) {
+                    Integer code = codes.get(value);
+                    if (code == null) {
+                        dictionary.add(value);
+                        code = dictionary.size();
+                        codes.put(value, code);
+                    }
+                    rowCodes[i] = code;
+                }
+            }
+            writeVarint(out, dictionary.size());
+            for (String value : dictionary) {
+                writeString(out, value);
+            }
+            for (int code : rowCodes) {
+                writeVarint(out, code);
+            }
+        }
+
+        @Override
+        public void read(List<T> rows, InputStream in) throws IOException {
+            String[] dictionary = new String[readVarint(in) + 1];
+            for (int code = 1; code < dictionary.length; code++) {
+                dictionary[code] = readString(in);
+            }
+            for (T row : rows) {
+                int code = readVarint(in);
+                if (code >= dictionary.length) {
+                    throw new IOException("Dictionary code " + code + " out of range");
+                }
+                setter.accept(row, dictionary[code]);
+            }
+        }
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte(in);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeString(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(InputStream in) throws IOException {
+        int length = readVarint(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFixedInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static int readFixedInt(InputStream in) throws IOException {
+        return readByte(in) << 24 | readByte(in) << 16 | readByte(in) << 8 | readByte(in);
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+}
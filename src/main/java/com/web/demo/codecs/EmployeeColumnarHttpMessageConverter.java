@@ -0,0 +1,76 @@
+package com.web.demo.codecs;
+
+import com.web.demo.models.Employee;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes {@code List<Employee>} and {@code List<EmployeeDTO>} bodies as
+ * {@value #MEDIA_TYPE_VALUE} using {@link EmployeeColumnarCodec}. Only chosen when a client asks for it
+ * in {@code Accept}.
+ */
+public class EmployeeColumnarHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<?>> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-employee-columns";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public EmployeeColumnarHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return rowType(type) != null && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return rowType(type != null ? type : clazz) != null && canWrite(mediaType);
+    }
+
+    @Override
+    public List<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return EmployeeColumnarCodec.read(inputMessage.getBody(), rowType(type));
+    }
+
+    @Override
+    protected List<?> readInternal(Class<? extends List<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("The row type of " + MEDIA_TYPE_VALUE + " bodies must be declared",
+                inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(List<?> rows, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Class<?> rowType = rowType(type);
+        if (rowType == null) {
+            rowType = rows.isEmpty() ? Employee.class : rows.get(0).getClass();
+        }
+        EmployeeColumnarCodec.write((List<Object>) rows, (Class<Object>) rowType, outputMessage.getBody());
+    }
+
+    /**
+     * The element type of a {@code List<Employee>} or {@code List<EmployeeDTO>}, else null.
+     */
+    private static Class<?> rowType(Type type) {
+        if (type == null) {
+            return null;
+        }
+        ResolvableType list = ResolvableType.forType(type).as(List.class);
+        Class<?> rowType = list.resolveGeneric(0);
+        return rowType != null && EmployeeColumnarCodec.supports(rowType) ? rowType : null;
+    }
+}
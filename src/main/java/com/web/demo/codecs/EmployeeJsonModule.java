@@ -0,0 +1,97 @@
+package com.web.demo.codecs;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.models.Employee;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializers for the two types every list endpoint writes. They produce exactly what the
+ * reflective bean serializer does (same names, same order, nulls included) with field names pre-encoded,
+ * and skip the per-property dispatch. Deserialization is unchanged. Keep the field lists in step with the
+ * classes; {@code EmployeeJsonModuleTest} compares both outputs.
+ */
+public class EmployeeJsonModule extends SimpleModule {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString EMP_ID = new SerializedString("empId");
+    private static final SerializableString EMP_NAME = new SerializedString("empName");
+    private static final SerializableString FATHER_NAME = new SerializedString("fatherName");
+    private static final SerializableString GENDER = new SerializedString("gender");
+    private static final SerializableString CATEGORY = new SerializedString("category");
+    private static final SerializableString MANAGER_ID = new SerializedString("manager_id");
+    private static final SerializableString SALARY = new SerializedString("salary");
+    private static final SerializableString DESIGNATION = new SerializedString("designation");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    public EmployeeJsonModule() {
+        super("EmployeeJsonModule");
+        addSerializer(Employee.class, new EmployeeSerializer());
+        addSerializer(EmployeeDTO.class, new EmployeeDTOSerializer());
+    }
+
+    static final class EmployeeSerializer extends StdSerializer<Employee> {
+
+        EmployeeSerializer() {
+            super(Employee.class);
+        }
+
+        @Override
+        public void serialize(Employee employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(employee);
+            number(generator, ID, employee.getId());
+            number(generator, EMP_ID, employee.getEmpId());
+            string(generator, EMP_NAME, employee.getEmpName());
+            string(generator, FATHER_NAME, employee.getFatherName());
+            string(generator, GENDER, employee.getGender());
+            string(generator, CATEGORY, employee.getCategory());
+            number(generator, MANAGER_ID, employee.getManager_id());
+            number(generator, SALARY, employee.getSalary());
+            string(generator, DESIGNATION, employee.getDesignation());
+            number(generator, VERSION, employee.getVersion());
+            generator.writeEndObject();
+        }
+    }
+
+    static final class EmployeeDTOSerializer extends StdSerializer<EmployeeDTO> {
+
+        EmployeeDTOSerializer() {
+            super(EmployeeDTO.class);
+        }
+
+        @Override
+        public void serialize(EmployeeDTO dto, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(dto);
+            number(generator, ID, dto.getId());
+            number(generator, EMP_ID, dto.getEmpId());
+            string(generator, EMP_NAME, dto.getEmpName());
+            string(generator, FATHER_NAME, dto.getFatherName());
+            string(generator, GENDER, dto.getGender());
+            string(generator, CATEGORY, dto.getCategory());
+            number(generator, MANAGER_ID, dto.getManager_id());
+            string(generator, DESIGNATION, dto.getDesignation());
+            number(generator, SALARY, dto.getSalary());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void number(JsonGenerator generator, SerializableString name, int value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNumber(value);
+    }
+
+    private static void string(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.web.demo.configs;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.web.demo.codecs.EmployeeJsonModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modules Spring Boot installs into the shared {@code ObjectMapper} and {@code Jackson2ObjectMapperBuilder},
+ * and so into every JSON, Smile and CBOR converter: hand-written serializers for {@code Employee} and
+ * {@code EmployeeDTO}, and Blackbird's generated accessors in place of reflection for all other types.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module employeeJsonModule() {
+        return new EmployeeJsonModule();
+    }
+}
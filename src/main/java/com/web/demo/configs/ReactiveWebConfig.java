@@ -0,0 +1,44 @@
+package com.web.demo.configs;
+
+import com.web.demo.controls.EmployeeRestController;
+import com.web.demo.controls.ReactiveEmployeeRestController;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Extra wiring for the {@value #PROFILE} profile (application-reactive.yaml), which serves
+ * {@link ReactiveEmployeeRestController} on WebFlux over R2DBC in place of {@link EmployeeRestController}.
+ * Tomcat stays on the classpath for the servlet stack and Spring Boot would pick it for a reactive
+ * application as well, so the server is pinned to Reactor Netty's event loops.
+ */
+@Configuration
+@Profile(ReactiveWebConfig.PROFILE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveWebConfig {
+
+    public static final String PROFILE = "reactive";
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Spring Boot drops its JDBC pool once an R2DBC ConnectionFactory exists, but the cache, indexes and
+     * admin endpoints still load through JPA, so the pool is declared here as auto-configuration would.
+     * {@link ReadReplicaConfig} declares its own when a replica is configured.
+     */
+    @Bean
+    @ConditionalOnExpression("'${employee.datasource.replica.jdbc-url:}'.isEmpty()")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
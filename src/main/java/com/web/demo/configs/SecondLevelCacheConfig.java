@@ -0,0 +1,67 @@
+package com.web.demo.configs;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Creates the JCache (Caffeine) regions backing Hibernate's second-level and query caches from
+ * {@code employee.second-level-cache.regions}, and hands the manager to Hibernate so the sizes in
+ * application.yaml are the ones actually used.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    // Hibernate's built-in region names for query results and table update timestamps.
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        Map<String, SecondLevelCacheProperties.Region> regions = new LinkedHashMap<>(properties.getRegions());
+        regions.putIfAbsent(QUERY_RESULTS_REGION, new SecondLevelCacheProperties.Region());
+        regions.putIfAbsent(UPDATE_TIMESTAMPS_REGION, new SecondLevelCacheProperties.Region());
+        regions.forEach((name, region) -> {
+            if (cacheManager.getCache(name) != null) {
+                cacheManager.destroyCache(name);
+            }
+            cacheManager.createCache(name, toConfiguration(name, region));
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> toConfiguration(String name, SecondLevelCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already stores disassembled, immutable cache entries; copying them buys nothing.
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        // Evicting or expiring update timestamps would let the query cache serve stale results.
+        if (!UPDATE_TIMESTAMPS_REGION.equals(name)) {
+            if (region.getMaximumSize() != null) {
+                configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+            }
+            if (region.getTtl() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+            }
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,77 @@
+package com.web.demo.configs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}. Spring Boot already moves Tomcat's
+ * request handling and the {@code @Async} executor onto virtual threads; this bounds how many of them
+ * can hold a JDBC connection at once.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(
+            @Value("${employee.jdbc.max-concurrent-connections:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxConcurrentConnections,
+            @Value("${employee.jdbc.acquire-timeout:30s}") Duration acquireTimeout,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BoundingPostProcessor(maxConcurrentConnections, acquireTimeout, meterRegistry);
+    }
+
+    /**
+     * Ordered so it sees the raw pools before unordered wrappers such as {@link StatementCountingDataSource}.
+     */
+    private static final class BoundingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final int maxConcurrentConnections;
+        private final Duration acquireTimeout;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        private BoundingPostProcessor(int maxConcurrentConnections, Duration acquireTimeout,
+                                      ObjectProvider<MeterRegistry> meterRegistry) {
+            this.maxConcurrentConnections = maxConcurrentConnections;
+            this.acquireTimeout = acquireTimeout;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            // Only bound real pools; decorators such as the replica router delegate to them.
+            if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                return bean;
+            }
+            BoundedDataSource bounded = new BoundedDataSource(dataSource, maxConcurrentConnections, acquireTimeout);
+            meterRegistry.ifAvailable(registry -> {
+                Gauge.builder("employee.jdbc.permits.available", bounded, BoundedDataSource::availablePermits)
+                        .description("JDBC connection permits not currently checked out")
+                        .tag("datasource", beanName)
+                        .register(registry);
+                Gauge.builder("employee.jdbc.permits.waiting", bounded, BoundedDataSource::queueLength)
+                        .description("Threads waiting for a JDBC connection permit")
+                        .tag("datasource", beanName)
+                        .register(registry);
+            });
+            return bounded;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
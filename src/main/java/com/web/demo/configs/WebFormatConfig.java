@@ -0,0 +1,61 @@
+package com.web.demo.configs;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.web.demo.codecs.CompressionThresholdFilter;
+import com.web.demo.codecs.EmployeeColumnarHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary response formats, negotiated through {@code Accept} after JSON: Smile
+ * ({@code application/x-jackson-smile}), CBOR ({@code application/cbor}) and, for employee lists, the
+ * dictionary-encoded {@link EmployeeColumnarHttpMessageConverter#MEDIA_TYPE_VALUE}. Smile and CBOR use the
+ * same Jackson settings as JSON. Compression is Tomcat's gzip, under {@code server.compression};
+ * {@link CompressionThresholdFilter} makes its size threshold apply to converter-written bodies.
+ */
+@Configuration
+public class WebFormatConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public WebFormatConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Bean
+    @ConditionalOnProperty("server.compression.enabled")
+    public FilterRegistrationBean<CompressionThresholdFilter> compressionThresholdFilter(
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        FilterRegistrationBean<CompressionThresholdFilter> registration =
+                new FilterRegistrationBean<>(new CompressionThresholdFilter((int) minResponseSize.toBytes()));
+        // Inside RequestMetricsFilter, which counts the bytes the application wrote.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVC registers Smile and CBOR by default when they are on the classpath, but with plain
+        // Jackson defaults; replace them so they serialize exactly like the JSON converter.
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()));
+        converters.add(new EmployeeColumnarHttpMessageConverter());
+    }
+}
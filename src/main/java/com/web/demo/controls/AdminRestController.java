@@ -0,0 +1,115 @@
+package com.web.demo.controls;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.web.demo.caches.EmployeeCache;
+import com.web.demo.indexes.AbstractEmployeeIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminRestController {
+
+    private final List<AbstractEmployeeIndex<?>> indexes;
+    private final EmployeeCache employeeCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public AdminRestController(List<AbstractEmployeeIndex<?>> indexes, EmployeeCache employeeCache,
+                               EntityManagerFactory entityManagerFactory) {
+        this.indexes = indexes;
+        this.employeeCache = employeeCache;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @GetMapping("/cache/regions")
+    public ResponseEntity<List<Map<String, Object>>> secondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Map<String, Object>> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> {
+                    CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+                    Map<String, Object> stats = new LinkedHashMap<>();
+                    stats.put("region", name);
+                    stats.put("elements", region.getElementCountInMemory());
+                    stats.put("hits", region.getHitCount());
+                    stats.put("misses", region.getMissCount());
+                    stats.put("puts", region.getPutCount());
+                    return stats;
+                })
+                .toList();
+        return ResponseEntity.ok(regions);
+    }
+
+    @DeleteMapping("/cache/regions")
+    public ResponseEntity<HttpStatus> clearSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @GetMapping("/cache/employee")
+    public ResponseEntity<Map<String, Object>> employeeCacheStats() {
+        CacheStats cacheStats = employeeCache.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", employeeCache.size());
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        stats.put("evictions", cacheStats.evictionCount());
+        stats.put("loads", cacheStats.loadCount());
+        stats.put("averageLoadMillis", cacheStats.averageLoadPenalty() / 1_000_000d);
+        return ResponseEntity.ok(stats);
+    }
+
+    @DeleteMapping("/cache/employee")
+    public ResponseEntity<HttpStatus> clearEmployeeCache() {
+        employeeCache.invalidateAll();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @GetMapping("/index")
+    public ResponseEntity<List<Map<String, Object>>> indexStats() {
+        return ResponseEntity.ok(indexes.stream().map(this::snapshot).toList());
+    }
+
+    @GetMapping("/index/{name}")
+    public ResponseEntity<Map<String, Object>> indexStats(@PathVariable("name") String name) {
+        return findIndex(name)
+                .map(index -> ResponseEntity.ok(snapshot(index)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/index/{name}/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildIndex(@PathVariable("name") String name) {
+        return findIndex(name)
+                .map(index -> {
+                    index.rebuild();
+                    return ResponseEntity.ok(snapshot(index));
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private Optional<AbstractEmployeeIndex<?>> findIndex(String name) {
+        return indexes.stream().filter(index -> index.getName().equals(name)).findFirst();
+    }
+
+    private Map<String, Object> snapshot(AbstractEmployeeIndex<?> index) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", index.getName());
+        stats.put("ready", index.isReady());
+        stats.put("entries", index.size());
+        stats.put("bytes", index.sizeInBytes());
+        stats.put("lastRebuildMillis", index.getLastRebuildMillis());
+        return stats;
+    }
+}
@@ -1,25 +1,61 @@
 package com.web.demo.controls;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.demo.configs.ReactiveWebConfig;
 import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.EmployeePage;
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.EmployeeWrite;
+import com.web.demo.dtos.ImportReport;
+import com.web.demo.dtos.OrgTreeNode;
+import com.web.demo.dtos.SalaryStats;
+import com.web.demo.dtos.SalaryStats.GroupBy;
+import com.web.demo.exceptions.WriteBehindQueueFullException;
 import com.web.demo.models.Employee;
+import com.web.demo.queues.EmployeeWriteBehindQueue;
+import com.web.demo.services.EmployeeImportService;
+import com.web.demo.services.EmployeeImportService.Format;
 import com.web.demo.services.EmployeeService;
+import com.web.demo.utils.EmployeeUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 //@CrossOrigin(origins = "http://localhost:8081")
 @RestController
 @RequestMapping("/emp")
+@Profile("!" + ReactiveWebConfig.PROFILE)
 public class EmployeeRestController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeWriteBehindQueue writeBehindQueue;
+    private final ObjectMapper objectMapper;
 
-    public EmployeeRestController(EmployeeService employeeService) {
+    public EmployeeRestController(EmployeeService employeeService, EmployeeImportService employeeImportService,
+                                  EmployeeWriteBehindQueue writeBehindQueue, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.employeeImportService = employeeImportService;
+        this.writeBehindQueue = writeBehindQueue;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/helloWorld")
@@ -41,31 +77,138 @@ public class EmployeeRestController {
         }
     }
 
+    @GetMapping(value = "/list/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllNdjson() {
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(null);
+            employeeService.streamAll(page -> {
+                try {
+                    for (Employee employee : page) {
+                        generator.writeObject(employee);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/list/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllJson() {
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.writeStartArray();
+            employeeService.streamAll(page -> {
+                try {
+                    for (Employee employee : page) {
+                        generator.writeObject(employee);
+                    }
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/list/page")
+    public ResponseEntity<EmployeePage> findPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "500") int size) {
+        return ResponseEntity.ok(employeeService.findPage(cursor, size));
+    }
+
     @GetMapping("/top1000")
     public ResponseEntity<List<Employee>> getTop1000Employees() {
         return ResponseEntity.ok(employeeService.getTop1000Employees());
     }
 
+    @GetMapping("/top")
+    public ResponseEntity<List<Employee>> getTopEmployees(
+            @RequestParam(value = "minSalary", defaultValue = "40000") int minSalary,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(employeeService.getTopEmployees(minSalary, limit));
+    }
+
+    /**
+     * Validated by {@link EmployeeService#dataVersion()}: a matching {@code If-None-Match} gets 304 before
+     * the reports are loaded.
+     */
     @GetMapping("/manager/{managerId}")
     public ResponseEntity<List<EmployeeDTO>> findAllUnderManager(
-            @PathVariable("managerId") int managerId) {
+            @PathVariable("managerId") int managerId, WebRequest request) {
         try {
+            String eTag = "m" + managerId + "-" + employeeService.dataVersion();
+            if (request.checkNotModified(eTag)) {
+                // The 304 status and ETag are already on the response.
+                return null;
+            }
             List<EmployeeDTO> empList = employeeService.findAllUnderManager(managerId);
             if (empList.isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
-            return new ResponseEntity<>(empList, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                    .body(empList);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @GetMapping("/manager/{managerId}/tree")
+    public ResponseEntity<OrgTreeNode> getOrgTree(
+            @PathVariable("managerId") int managerId,
+            @RequestParam(value = "depth", defaultValue = "3") int depth) {
+        return ResponseEntity.ok(employeeService.getOrgTree(managerId, depth));
+    }
+
+    /**
+     * Headcount and salary count, total, minimum, maximum and mean per designation, category, gender or
+     * manager_id; 400 for any other column.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<SalaryStats>> salaryStats(
+            @RequestParam(value = "groupBy", defaultValue = "designation") String groupBy, WebRequest request) {
+        GroupBy column = GroupBy.of(groupBy);
+        String eTag = "s-" + column.name().toLowerCase(Locale.ROOT) + "-" + employeeService.dataVersion();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                .body(employeeService.salaryStats(column));
+    }
+
+    /**
+     * Search-as-you-type over empName and fatherName: every word of {@code q} must start, or with
+     * {@code fuzzy} nearly match, a word of either name. Exact words rank above prefixes above typos.
+     */
+    @GetMapping("/search/name")
+    public ResponseEntity<List<EmployeeDTO>> searchByName(
+            @RequestParam("q") String query,
+            @RequestParam(value = "fuzzy", defaultValue = "true") boolean fuzzy,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(employeeService.searchByName(query, fuzzy, limit));
+    }
+
+    /**
+     * Tagged by {@link EmployeeUtils#eTag}. The lookup is usually a cache hit, so a matching
+     * {@code If-None-Match} is answered 304 without a query or serialization.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmpById(@PathVariable("id") int empId) {
         Optional<Employee> empData = employeeService.findByEmpId(empId);
 
         if (empData.isPresent()) {
-            return new ResponseEntity<>(empData.get(), HttpStatus.OK);
+            Employee employee = empData.get();
+            return ResponseEntity.ok().eTag(EmployeeUtils.eTag(employee))
+                    .cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(employee);
         } else {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
@@ -76,16 +219,50 @@ public class EmployeeRestController {
         return employeeService.getEmployeeById(empId);
     }
 
+    /**
+     * 201 with the stored row, or 202 with the accepted body when write-behind is enabled.
+     */
     @PostMapping("/create")
     public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee) {
         try {
+            if (writeBehindQueue.isEnabled()) {
+                EmployeeUtils.validateEmployee(employee);
+                writeBehindQueue.enqueue(EmployeeWrite.created(employee));
+                return new ResponseEntity<>(employee, HttpStatus.ACCEPTED);
+            }
             Employee _employee = employeeService.createEmployee(employee);
             return new ResponseEntity<>(_employee, HttpStatus.CREATED);
+        } catch (WriteBehindQueueFullException e) {
+            throw e;
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> bulkCreateNdjson(InputStream body) {
+        return bulkResponse(employeeImportService.importNewEmployees(body, Format.NDJSON));
+    }
+
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportReport> bulkCreateCsv(InputStream body) {
+        return bulkResponse(employeeImportService.importNewEmployees(body, Format.CSV));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReport> bulkCreateUpload(@RequestParam("file") MultipartFile file) throws IOException {
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
+        Format format = TEXT_CSV_VALUE.equals(file.getContentType()) || name.endsWith(".csv") ? Format.CSV : Format.NDJSON;
+        try (InputStream input = file.getInputStream()) {
+            return bulkResponse(employeeImportService.importNewEmployees(input, format));
+        }
+    }
+
+    private ResponseEntity<ImportReport> bulkResponse(ImportReport report) {
+        HttpStatus status = report.getRowsWritten() > 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return new ResponseEntity<>(report, status);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Employee> updateEmployee(
             @PathVariable("id") int empId) {
@@ -101,10 +278,27 @@ public class EmployeeRestController {
     @PutMapping("/update/{id}")
     public ResponseEntity<Employee> updateEmp(
             @PathVariable("id") int empId, @RequestBody(required = false) Employee employee) {
+        if (writeBehindQueue.isEnabled()) {
+            if (employee == null) {
+                throw new IllegalArgumentException("Employee body is required");
+            }
+            writeBehindQueue.enqueue(EmployeeWrite.renamed(empId, employee));
+            return new ResponseEntity<>(employee, HttpStatus.ACCEPTED);
+        }
         Employee emp = employeeService.updateEmp(empId, employee);
         return new ResponseEntity<>(emp, HttpStatus.OK);
     }
 
+    /**
+     * Partial update guarded by the row version; 204 on success (the new version is the sent one plus
+     * one), 404 if the employee does not exist, 409 if it was changed since that version was read.
+     */
+    @PatchMapping("/{empId}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable("empId") int empId, @RequestBody EmployeePatch patch) {
+        employeeService.patchEmployee(empId, patch);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{empId}")
     public ResponseEntity<HttpStatus> deleteEmployee(@PathVariable("empId") int empId) {
         try {
@@ -115,6 +309,23 @@ public class EmployeeRestController {
         }
     }
 
+    /**
+     * {@code DELETE /emp?ids=101,102} by empId, or {@code DELETE /emp?fromId=1&toId=5000} by primary key;
+     * 204 whether or not any row matched.
+     */
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<Void> deleteEmployees(@RequestParam("ids") List<Integer> empIds) {
+        employeeService.deleteByEmpIds(empIds);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping(params = {"fromId", "toId"})
+    public ResponseEntity<Void> deleteEmployeeRange(@RequestParam("fromId") int fromId,
+                                                    @RequestParam("toId") int toId) {
+        employeeService.deleteIdRange(fromId, toId);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/deleteAll")
     public ResponseEntity<HttpStatus> deleteAllEmployees() {
         try {
@@ -139,13 +350,13 @@ public class EmployeeRestController {
     }
 
     @GetMapping("/readJson")
-    public ResponseEntity<List<EmployeeDTO>> readJson() {
+    public ResponseEntity<ImportReport> readJson() {
         try {
-            List<EmployeeDTO> empList = employeeService.readJson();
-            if (empList.isEmpty()) {
+            ImportReport report = employeeService.readJson();
+            if (report.getRowsRead() == 0 && report.getErrors().isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
-            return new ResponseEntity<>(empList, HttpStatus.OK);
+            return new ResponseEntity<>(report, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -0,0 +1,81 @@
+package com.web.demo.controls;
+
+import com.web.demo.configs.ReactiveWebConfig;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.models.Employee;
+import com.web.demo.services.ReactiveEmployeeService;
+import com.web.demo.utils.EmployeeUtils;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * {@link EmployeeRestController}'s {@code /emp/{id}}, {@code /emp/list}, {@code /emp/manager/{managerId}}
+ * and {@code /emp/create} on WebFlux, with the same statuses and validators. Nothing here blocks, so a
+ * request waiting on the database holds no thread. Other {@code /emp} endpoints are servlet-only.
+ */
+@RestController
+@RequestMapping("/emp")
+@Profile(ReactiveWebConfig.PROFILE)
+public class ReactiveEmployeeRestController {
+
+    private final ReactiveEmployeeService reactiveEmployeeService;
+
+    public ReactiveEmployeeRestController(ReactiveEmployeeService reactiveEmployeeService) {
+        this.reactiveEmployeeService = reactiveEmployeeService;
+    }
+
+    /**
+     * Streamed as a JSON array, or as NDJSON when asked for, one keyset page at a time: the response is
+     * written as fast as the client reads it, with at most one page queried ahead of what has been sent.
+     */
+    @GetMapping(value = "/list", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<Employee>>> findAll() {
+        return reactiveEmployeeService.findPageAfter(Integer.MIN_VALUE)
+                .map(page -> page.isEmpty() ? new ResponseEntity<Flux<Employee>>(HttpStatus.NO_CONTENT)
+                        : ResponseEntity.ok(reactiveEmployeeService.streamFrom(page)))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/manager/{managerId}")
+    public Mono<ResponseEntity<List<EmployeeDTO>>> findAllUnderManager(
+            @PathVariable("managerId") int managerId, ServerWebExchange exchange) {
+        String eTag = "m" + managerId + "-" + reactiveEmployeeService.dataVersion();
+        if (exchange.checkNotModified(eTag)) {
+            // The 304 status and ETag are already on the response.
+            return Mono.empty();
+        }
+        return reactiveEmployeeService.findAllUnderManager(managerId).collectList()
+                .map(empList -> empList.isEmpty() ? new ResponseEntity<List<EmployeeDTO>>(HttpStatus.NO_CONTENT)
+                        : ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                        .body(empList))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmpById(@PathVariable("id") int empId) {
+        return reactiveEmployeeService.findByEmpId(empId)
+                .map(employee -> ResponseEntity.ok().eTag(EmployeeUtils.eTag(employee))
+                        .cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(employee))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+
+    /**
+     * 201 with the stored row. Write-behind is not offered here; every create is written before it returns.
+     */
+    @PostMapping("/create")
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody Employee employee) {
+        return reactiveEmployeeService.createEmployee(employee)
+                .map(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+}
@@ -12,6 +12,25 @@ public class EmployeeDTO {
     private String designation;
     private int salary;
 
+    public EmployeeDTO() {
+    }
+
+    /**
+     * Used by the JPQL constructor expressions in EmployeeRepo to read rows straight into DTOs.
+     */
+    public EmployeeDTO(int id, int empId, String empName, String fatherName, String gender, String category,
+                       int manager_id, String designation, int salary) {
+        this.id = id;
+        this.empId = empId;
+        this.empName = empName;
+        this.fatherName = fatherName;
+        this.gender = gender;
+        this.category = category;
+        this.manager_id = manager_id;
+        this.designation = designation;
+        this.salary = salary;
+    }
+
     public int getId() {
         return id;
     }
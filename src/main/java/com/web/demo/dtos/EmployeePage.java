@@ -0,0 +1,43 @@
+package com.web.demo.dtos;
+
+import com.web.demo.models.Employee;
+
+import java.util.List;
+
+public class EmployeePage {
+
+    private List<Employee> items;
+    private String nextCursor;
+
+    public EmployeePage() {
+    }
+
+    public EmployeePage(List<Employee> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Employee> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Employee> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeePage{" +
+                "items=" + (items == null ? 0 : items.size()) +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
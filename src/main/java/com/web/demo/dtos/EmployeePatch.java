@@ -0,0 +1,65 @@
+package com.web.demo.dtos;
+
+/**
+ * Partial update for PATCH /emp/{empId}: null fields are left unchanged. {@code version} must match the
+ * stored row; a successful patch increments it by one.
+ */
+public class EmployeePatch {
+
+    private Integer version;
+    private String empName;
+    private String fatherName;
+    private String designation;
+    private Integer salary;
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getEmpName() {
+        return empName;
+    }
+
+    public void setEmpName(String empName) {
+        this.empName = empName;
+    }
+
+    public String getFatherName() {
+        return fatherName;
+    }
+
+    public void setFatherName(String fatherName) {
+        this.fatherName = fatherName;
+    }
+
+    public String getDesignation() {
+        return designation;
+    }
+
+    public void setDesignation(String designation) {
+        this.designation = designation;
+    }
+
+    public Integer getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Integer salary) {
+        this.salary = salary;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeePatch{" +
+                "version=" + version +
+                ", empName='" + empName + '\'' +
+                ", fatherName='" + fatherName + '\'' +
+                ", designation='" + designation + '\'' +
+                ", salary=" + salary +
+                '}';
+    }
+}
@@ -0,0 +1,212 @@
+package com.web.demo.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.web.demo.models.Employee;
+
+/**
+ * A pending write-behind mutation for one {@code empId}. Non-null fields overwrite the stored row;
+ * {@code insert} is the row to create if the employee does not exist yet. Later writes to the same
+ * {@code empId} are coalesced into one, last write winning per field.
+ */
+public class EmployeeWrite {
+
+    private int empId;
+    private String empName;
+    private String fatherName;
+    private String gender;
+    private String category;
+    private Integer managerId;
+    private Integer salary;
+    private String designation;
+    private Employee insert;
+    @JsonIgnore
+    private int mutations = 1;
+    @JsonIgnore
+    private int failedAttempts;
+
+    /**
+     * POST /emp/create: every field of the body, inserted if the {@code empId} is new.
+     */
+    public static EmployeeWrite created(Employee employee) {
+        EmployeeWrite write = new EmployeeWrite();
+        write.empId = employee.getEmpId();
+        write.empName = employee.getEmpName();
+        write.fatherName = employee.getFatherName();
+        write.gender = employee.getGender();
+        write.category = employee.getCategory();
+        write.managerId = employee.getManager_id();
+        write.salary = employee.getSalary();
+        write.designation = employee.getDesignation();
+        write.insert = employee;
+        return write;
+    }
+
+    /**
+     * PUT /emp/update/{id}: renames an existing employee, or inserts the body if there is none.
+     */
+    public static EmployeeWrite renamed(int empId, Employee employee) {
+        EmployeeWrite write = new EmployeeWrite();
+        write.empId = empId;
+        write.empName = employee.getEmpName();
+        write.insert = employee;
+        return write;
+    }
+
+    public static EmployeeWrite coalesce(EmployeeWrite older, EmployeeWrite newer) {
+        EmployeeWrite write = new EmployeeWrite();
+        write.empId = newer.empId;
+        write.empName = newer.empName != null ? newer.empName : older.empName;
+        write.fatherName = newer.fatherName != null ? newer.fatherName : older.fatherName;
+        write.gender = newer.gender != null ? newer.gender : older.gender;
+        write.category = newer.category != null ? newer.category : older.category;
+        write.managerId = newer.managerId != null ? newer.managerId : older.managerId;
+        write.salary = newer.salary != null ? newer.salary : older.salary;
+        write.designation = newer.designation != null ? newer.designation : older.designation;
+        write.insert = newer.insert != null ? newer.insert : older.insert;
+        write.mutations = older.mutations + newer.mutations;
+        write.failedAttempts = Math.max(older.failedAttempts, newer.failedAttempts);
+        return write;
+    }
+
+    public void applyTo(Employee employee) {
+        if (empName != null) {
+            employee.setEmpName(empName);
+        }
+        if (fatherName != null) {
+            employee.setFatherName(fatherName);
+        }
+        if (gender != null) {
+            employee.setGender(gender);
+        }
+        if (category != null) {
+            employee.setCategory(category);
+        }
+        if (managerId != null) {
+            employee.setManager_id(managerId);
+        }
+        if (salary != null) {
+            employee.setSalary(salary);
+        }
+        if (designation != null) {
+            employee.setDesignation(designation);
+        }
+    }
+
+    /**
+     * Builds the row to insert when no employee with this {@code empId} exists; the id is left as supplied.
+     */
+    public Employee toNewEmployee() {
+        Employee employee = new Employee();
+        if (insert != null) {
+            employee.setId(insert.getId());
+            employee.setEmpName(insert.getEmpName());
+            employee.setFatherName(insert.getFatherName());
+            employee.setGender(insert.getGender());
+            employee.setCategory(insert.getCategory());
+            employee.setManager_id(insert.getManager_id());
+            employee.setSalary(insert.getSalary());
+            employee.setDesignation(insert.getDesignation());
+        }
+        employee.setEmpId(empId);
+        applyTo(employee);
+        return employee;
+    }
+
+    public int getEmpId() {
+        return empId;
+    }
+
+    public void setEmpId(int empId) {
+        this.empId = empId;
+    }
+
+    public String getEmpName() {
+        return empName;
+    }
+
+    public void setEmpName(String empName) {
+        this.empName = empName;
+    }
+
+    public String getFatherName() {
+        return fatherName;
+    }
+
+    public void setFatherName(String fatherName) {
+        this.fatherName = fatherName;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Integer managerId) {
+        this.managerId = managerId;
+    }
+
+    public Integer getSalary() {
+        return salary;
+    }
+
+    public void setSalary(Integer salary) {
+        this.salary = salary;
+    }
+
+    public String getDesignation() {
+        return designation;
+    }
+
+    public void setDesignation(String designation) {
+        this.designation = designation;
+    }
+
+    public Employee getInsert() {
+        return insert;
+    }
+
+    public void setInsert(Employee insert) {
+        this.insert = insert;
+    }
+
+    public int getMutations() {
+        return mutations;
+    }
+
+    /**
+     * Counts one more flush that failed to write this mutation; returns the total so far.
+     */
+    public int recordFailedAttempt() {
+        return ++failedAttempts;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeWrite{" +
+                "empId=" + empId +
+                ", empName='" + empName + '\'' +
+                ", fatherName='" + fatherName + '\'' +
+                ", gender='" + gender + '\'' +
+                ", category='" + category + '\'' +
+                ", managerId=" + managerId +
+                ", salary=" + salary +
+                ", designation='" + designation + '\'' +
+                ", mutations=" + mutations +
+                '}';
+    }
+}
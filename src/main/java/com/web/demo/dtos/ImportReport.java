@@ -0,0 +1,200 @@
+package com.web.demo.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+
+    private long rowsRead;
+    private long rowsWritten;
+    private long rowsSkipped;
+    private long rowsFailed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<ChunkReport> chunks = new ArrayList<>();
+    private List<String> errors = new ArrayList<>();
+    private List<LineError> lineErrors = new ArrayList<>();
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    /**
+     * Rows that were read but intentionally not written, e.g. an emp_id that does not exist.
+     */
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public void setRowsSkipped(long rowsSkipped) {
+        this.rowsSkipped = rowsSkipped;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<ChunkReport> getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(List<ChunkReport> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * Failures that are not tied to a chunk, such as a malformed input stream.
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * Rejected input lines, capped so a bad file cannot grow the report without bound.
+     */
+    public List<LineError> getLineErrors() {
+        return lineErrors;
+    }
+
+    public void setLineErrors(List<LineError> lineErrors) {
+        this.lineErrors = lineErrors;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "rowsRead=" + rowsRead +
+                ", rowsWritten=" + rowsWritten +
+                ", rowsSkipped=" + rowsSkipped +
+                ", rowsFailed=" + rowsFailed +
+                ", elapsedMillis=" + elapsedMillis +
+                ", rowsPerSecond=" + rowsPerSecond +
+                ", chunks=" + chunks.size() +
+                ", errors=" + errors.size() +
+                ", lineErrors=" + lineErrors.size() +
+                '}';
+    }
+
+    public static class ChunkReport {
+
+        private int chunk;
+        private int rows;
+        private int written;
+        private long latencyMillis;
+        private String error;
+
+        public ChunkReport() {
+        }
+
+        public ChunkReport(int chunk, int rows) {
+            this.chunk = chunk;
+            this.rows = rows;
+        }
+
+        public int getChunk() {
+            return chunk;
+        }
+
+        public void setChunk(int chunk) {
+            this.chunk = chunk;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public void setRows(int rows) {
+            this.rows = rows;
+        }
+
+        public int getWritten() {
+            return written;
+        }
+
+        public void setWritten(int written) {
+            this.written = written;
+        }
+
+        public long getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        public void setLatencyMillis(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+
+    public static class LineError {
+
+        private long line;
+        private String message;
+
+        public LineError() {
+        }
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.web.demo.dtos;
+
+/**
+ * Minimal (primary key, manager) pair used to build the manager index without hydrating entities.
+ */
+public record ManagerLink(int id, int managerId) {
+}
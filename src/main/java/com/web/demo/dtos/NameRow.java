@@ -0,0 +1,7 @@
+package com.web.demo.dtos;
+
+/**
+ * The columns the name search index needs per employee, selected without hydrating entities.
+ */
+public record NameRow(int id, int empId, String empName, String fatherName) {
+}
@@ -0,0 +1,7 @@
+package com.web.demo.dtos;
+
+/**
+ * The columns the org tree needs per employee, selected without hydrating entities.
+ */
+public record OrgLink(int id, int empId, int managerId, int salary) {
+}
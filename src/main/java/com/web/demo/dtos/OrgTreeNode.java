@@ -0,0 +1,82 @@
+package com.web.demo.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrgTreeNode {
+
+    private int empId;
+    private EmployeeDTO employee;
+    private int headcount;
+    private long totalSalary;
+    private boolean truncated;
+    private List<OrgTreeNode> reports = new ArrayList<>();
+
+    public int getEmpId() {
+        return empId;
+    }
+
+    public void setEmpId(int empId) {
+        this.empId = empId;
+    }
+
+    public EmployeeDTO getEmployee() {
+        return employee;
+    }
+
+    public void setEmployee(EmployeeDTO employee) {
+        this.employee = employee;
+    }
+
+    /**
+     * Transitive number of employees reporting to this node, excluding the node itself.
+     */
+    public int getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(int headcount) {
+        this.headcount = headcount;
+    }
+
+    /**
+     * Sum of salaries of all transitive reports, excluding the node itself.
+     */
+    public long getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(long totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
+    /**
+     * True when this node has reports that were not expanded because of the depth limit.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<OrgTreeNode> getReports() {
+        return reports;
+    }
+
+    public void setReports(List<OrgTreeNode> reports) {
+        this.reports = reports;
+    }
+
+    @Override
+    public String toString() {
+        return "OrgTreeNode{" +
+                "empId=" + empId +
+                ", headcount=" + headcount +
+                ", totalSalary=" + totalSalary +
+                ", truncated=" + truncated +
+                ", reports=" + reports.size() +
+                '}';
+    }
+}
@@ -0,0 +1,9 @@
+package com.web.demo.dtos;
+
+/**
+ * Every column of an employee, version included, selected without hydrating entities for the
+ * in-memory replica.
+ */
+public record ReplicaRow(int id, int empId, String empName, String fatherName, String gender, String category,
+                         int managerId, int salary, String designation, int version) {
+}
@@ -0,0 +1,110 @@
+package com.web.demo.dtos;
+
+/**
+ * Headcount and salary aggregates for one group of GET /emp/stats; {@code group} is null for employees
+ * without a value in the grouped column.
+ */
+public class SalaryStats {
+
+    /**
+     * The columns /emp/stats can group by.
+     */
+    public enum GroupBy {
+        DESIGNATION, CATEGORY, GENDER, MANAGER_ID;
+
+        /**
+         * Parses a column name such as {@code designation} or {@code manager_id}, ignoring case.
+         */
+        public static GroupBy of(String column) {
+            for (GroupBy groupBy : values()) {
+                if (groupBy.name().equalsIgnoreCase(column)) {
+                    return groupBy;
+                }
+            }
+            throw new IllegalArgumentException("Cannot group by " + column
+                    + "; expected one of designation, category, gender, manager_id");
+        }
+    }
+
+    private String group;
+    private long count;
+    private long totalSalary;
+    private int minSalary;
+    private int maxSalary;
+    private double meanSalary;
+
+    public SalaryStats() {
+    }
+
+    /**
+     * Used by the JPQL constructor expressions in EmployeeRepo and by the in-memory index.
+     */
+    public SalaryStats(String group, long count, long totalSalary, int minSalary, int maxSalary) {
+        this.group = group;
+        this.count = count;
+        this.totalSalary = totalSalary;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.meanSalary = count == 0 ? 0 : (double) totalSalary / count;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getTotalSalary() {
+        return totalSalary;
+    }
+
+    public void setTotalSalary(long totalSalary) {
+        this.totalSalary = totalSalary;
+    }
+
+    public int getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(int minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public int getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(int maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public double getMeanSalary() {
+        return meanSalary;
+    }
+
+    public void setMeanSalary(double meanSalary) {
+        this.meanSalary = meanSalary;
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryStats{" +
+                "group='" + group + '\'' +
+                ", count=" + count +
+                ", totalSalary=" + totalSalary +
+                ", minSalary=" + minSalary +
+                ", maxSalary=" + maxSalary +
+                ", meanSalary=" + meanSalary +
+                '}';
+    }
+}
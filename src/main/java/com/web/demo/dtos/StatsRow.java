@@ -0,0 +1,8 @@
+package com.web.demo.dtos;
+
+/**
+ * The columns the salary statistics index needs per employee, selected without hydrating entities.
+ */
+public record StatsRow(int id, int empId, String designation, String category, String gender, int managerId,
+                       int salary) {
+}
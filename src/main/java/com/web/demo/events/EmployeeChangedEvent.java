@@ -0,0 +1,88 @@
+package com.web.demo.events;
+
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.models.Employee;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published by the service layer after employee rows are written so in-memory read structures can
+ * stay consistent without rescanning the table. Deletes carry primary keys ({@code Employee.id}); patches
+ * carry the {@code empId} and only the fields that changed.
+ */
+public class EmployeeChangedEvent {
+
+    public enum Type {
+        SAVED, DELETED, PATCHED, CLEARED
+    }
+
+    private final Type type;
+    private final List<Employee> employees;
+    private final List<Integer> ids;
+    private final int empId;
+    private final EmployeePatch patch;
+
+    private EmployeeChangedEvent(Type type, List<Employee> employees, List<Integer> ids, int empId,
+                                 EmployeePatch patch) {
+        this.type = type;
+        this.employees = employees;
+        this.ids = ids;
+        this.empId = empId;
+        this.patch = patch;
+    }
+
+    public static EmployeeChangedEvent saved(Employee employee) {
+        return saved(List.of(employee));
+    }
+
+    public static EmployeeChangedEvent saved(List<Employee> employees) {
+        return new EmployeeChangedEvent(Type.SAVED, List.copyOf(employees), Collections.emptyList(), 0, null);
+    }
+
+    public static EmployeeChangedEvent deleted(int id) {
+        return deleted(List.of(id));
+    }
+
+    public static EmployeeChangedEvent deleted(List<Integer> ids) {
+        return new EmployeeChangedEvent(Type.DELETED, Collections.emptyList(), List.copyOf(ids), 0, null);
+    }
+
+    public static EmployeeChangedEvent patched(int empId, EmployeePatch patch) {
+        return new EmployeeChangedEvent(Type.PATCHED, Collections.emptyList(), Collections.emptyList(), empId, patch);
+    }
+
+    public static EmployeeChangedEvent cleared() {
+        return new EmployeeChangedEvent(Type.CLEARED, Collections.emptyList(), Collections.emptyList(), 0, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public int getEmpId() {
+        return empId;
+    }
+
+    public EmployeePatch getPatch() {
+        return patch;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeChangedEvent{" +
+                "type=" + type +
+                ", employees=" + employees.size() +
+                ", ids=" + ids.size() +
+                ", empId=" + empId +
+                '}';
+    }
+}
@@ -0,0 +1,7 @@
+package com.web.demo.exceptions;
+
+public class EmployeeVersionConflictException extends RuntimeException {
+    public EmployeeVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.web.demo.exceptions;
+
+public class WriteBehindQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public WriteBehindQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,192 @@
+package com.web.demo.indexes;
+
+import com.web.demo.events.EmployeeChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Common lifecycle for in-memory read structures derived from EMPLOYEE_DATA: an asynchronous build on
+ * startup, an atomic swap on rebuild, and incremental maintenance from {@link EmployeeChangedEvent}s.
+ * Events that arrive while a rebuild is scanning the table are replayed on the new state before it is
+ * published, so no write is lost to the swap.
+ *
+ * @param <S> the freshly loaded state handed from {@link #load()} to {@link #install(Object)}
+ */
+@Slf4j
+public abstract class AbstractEmployeeIndex<S> {
+
+    private final String name;
+    private final Timer rebuildTimer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private List<EmployeeChangedEvent> pendingEvents;
+    private volatile boolean ready;
+    private volatile long lastRebuildMillis;
+
+    protected AbstractEmployeeIndex(String name, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.rebuildTimer = Timer.builder("employee.index.rebuild")
+                .description("Time to rebuild an in-memory employee index from the database")
+                .tag("index", name)
+                .register(meterRegistry);
+        Gauge.builder("employee.index.size", this, AbstractEmployeeIndex::size)
+                .description("Entries held in an in-memory employee index")
+                .tag("index", name)
+                .register(meterRegistry);
+        Gauge.builder("employee.index.bytes", this, AbstractEmployeeIndex::sizeInBytes)
+                .description("Approximate heap retained by an in-memory employee index")
+                .tag("index", name)
+                .register(meterRegistry);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("{} index build failed; it stays unavailable until rebuilt", name, ex);
+        }
+    }
+
+    /**
+     * Reloads the index from the database and swaps it in atomically.
+     */
+    public synchronized void rebuild() {
+        if (!isEnabled()) {
+            log.info("{} index is disabled; not rebuilding", name);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long start = System.nanoTime();
+        S state;
+        try {
+            state = load();
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            install(state);
+            pendingEvents.forEach(this::apply);
+            pendingEvents = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        lastRebuildMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        log.info("{} index rebuilt: {} entries in {} ms", name, size(), lastRebuildMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getLastRebuildMillis() {
+        return lastRebuildMillis;
+    }
+
+    /**
+     * A disabled index is never built, ignores change events and so never becomes ready.
+     */
+    public boolean isEnabled() {
+        return true;
+    }
+
+    public abstract int size();
+
+    public abstract long sizeInBytes();
+
+    /**
+     * Scans the table and returns a complete new state. Runs without holding the index lock.
+     */
+    protected abstract S load();
+
+    /**
+     * Replaces the live state; called under the write lock.
+     */
+    protected abstract void install(S state);
+
+    /**
+     * Applies one change to the live state; called under the write lock.
+     */
+    protected abstract void apply(EmployeeChangedEvent event);
+
+    protected <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Walks a keyset-paginated projection query ordered by primary key until a short batch is returned.
+     */
+    protected static <T> void scan(BiFunction<Integer, Limit, List<T>> query, ToIntFunction<T> idOf,
+                                   int batchSize, Consumer<T> sink) {
+        int afterId = Integer.MIN_VALUE;
+        List<T> batch;
+        do {
+            batch = query.apply(afterId, Limit.of(batchSize));
+            batch.forEach(sink);
+            if (!batch.isEmpty()) {
+                afterId = idOf.applyAsInt(batch.get(batch.size() - 1));
+            }
+        } while (batch.size() == batchSize);
+    }
+}
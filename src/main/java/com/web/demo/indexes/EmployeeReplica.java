@@ -0,0 +1,524 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.ReplicaRow;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.utils.OffHeapIntIntMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * The whole of EMPLOYEE_DATA as a column-oriented read model in direct (off-heap) memory, serving the
+ * reads that would otherwise scan the table or hydrate entities. Off unless {@code employee.replica.enabled}.
+ * <p>
+ * Rows are stored in blocks of {@value #BLOCK_ROWS}; within a block each column is a contiguous run of
+ * ints, so a filter on one column reads sequential memory. Gender, category and designation are
+ * dictionary codes, and both names sit in an append-only off-heap string heap. Rows are found by empId
+ * and by primary key through {@link OffHeapIntIntMap}s.
+ * <p>
+ * Readers take the current {@link Snapshot} from a volatile field and never lock. A change event is
+ * applied to copies of only the blocks and map partitions it touches, then published as a new snapshot,
+ * so a reader sees each write entirely or not at all. Replaced blocks are freed by the garbage collector
+ * once no reader holds them; the bytes of replaced names stay in the string heap until the next rebuild.
+ */
+@Component
+public class EmployeeReplica extends AbstractEmployeeIndex<EmployeeReplica.State> {
+
+    static final int BLOCK_ROWS = 1 << 11;
+    private static final int BLOCK_MASK = BLOCK_ROWS - 1;
+    private static final int BLOCK_SHIFT = Integer.numberOfTrailingZeros(BLOCK_ROWS);
+
+    private static final int ID = 0;
+    private static final int EMP_ID = 1;
+    private static final int MANAGER_ID = 2;
+    private static final int SALARY = 3;
+    private static final int VERSION = 4;
+    private static final int GENDER = 5;
+    private static final int CATEGORY = 6;
+    private static final int DESIGNATION = 7;
+    private static final int NAMES = 8;
+    private static final int COLUMNS = 9;
+    private static final int BLOCK_BYTES = BLOCK_ROWS * COLUMNS * Integer.BYTES;
+
+    private static final int NO_ROW = -1;
+    private static final int NULL_CODE = -1;
+
+    private final EmployeeRepo employeeRepo;
+
+    @Value("${employee.replica.enabled:false}")
+    private boolean enabled;
+
+    @Value("${employee.index.batch-size:10000}")
+    private int batchSize = 10000;
+
+    // Only touched under the index write lock.
+    private State state = new State();
+    private volatile Snapshot snapshot = state.snapshot;
+
+    public EmployeeReplica(EmployeeRepo employeeRepo, MeterRegistry meterRegistry) {
+        super("replica", meterRegistry);
+        this.employeeRepo = employeeRepo;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Optional<Employee> findByEmpId(int empId) {
+        Snapshot current = snapshot;
+        int row = current.rowByEmpId.get(empId, NO_ROW);
+        return row == NO_ROW ? Optional.empty() : Optional.of(current.employee(row));
+    }
+
+    /**
+     * Every employee, in storage order.
+     */
+    public List<Employee> findAll() {
+        Snapshot current = snapshot;
+        return current.rows(0, current.size, current::employee);
+    }
+
+    /**
+     * Every employee as a DTO, in storage order.
+     */
+    public List<EmployeeDTO> findAllDtos() {
+        Snapshot current = snapshot;
+        return current.rows(0, current.size, current::dto);
+    }
+
+    /**
+     * The rows with these primary keys, in the given order; ids not present are skipped.
+     */
+    public List<EmployeeDTO> findDtosByIds(int[] ids) {
+        Snapshot current = snapshot;
+        List<EmployeeDTO> dtos = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            int row = current.rowById.get(id, NO_ROW);
+            if (row != NO_ROW) {
+                dtos.add(current.dto(row));
+            }
+        }
+        return dtos;
+    }
+
+    /**
+     * The rows with these empIds, in the given order; empIds not present are skipped.
+     */
+    public List<EmployeeDTO> findDtosByEmpIds(int[] empIds) {
+        Snapshot current = snapshot;
+        List<EmployeeDTO> dtos = new ArrayList<>(empIds.length);
+        for (int empId : empIds) {
+            int row = current.rowByEmpId.get(empId, NO_ROW);
+            if (row != NO_ROW) {
+                dtos.add(current.dto(row));
+            }
+        }
+        return dtos;
+    }
+
+    /**
+     * Direct reports of {@code managerId}, found by scanning the manager column block by block.
+     */
+    public List<EmployeeDTO> findByManagerId(int managerId) {
+        Snapshot current = snapshot;
+        List<EmployeeDTO> reports = new ArrayList<>();
+        for (int block = 0; block < current.blocks.length; block++) {
+            ByteBuffer buffer = current.blocks[block];
+            int rows = Math.min(BLOCK_ROWS, current.size - (block << BLOCK_SHIFT));
+            int offset = offsetOf(MANAGER_ID, 0);
+            for (int r = 0; r < rows; r++) {
+                if (buffer.getInt(offset + r * Integer.BYTES) == managerId) {
+                    reports.add(current.dto((block << BLOCK_SHIFT) | r));
+                }
+            }
+        }
+        return reports;
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size;
+    }
+
+    /**
+     * Direct memory held by the current snapshot: row blocks, lookup maps and the string heap.
+     */
+    @Override
+    public long sizeInBytes() {
+        Snapshot current = snapshot;
+        return (long) current.blocks.length * BLOCK_BYTES + current.rowByEmpId.sizeInBytes()
+                + current.rowById.sizeInBytes() + (long) current.namePages.length * StringHeap.PAGE_BYTES;
+    }
+
+    @Override
+    protected State load() {
+        State loaded = new State();
+        loaded.begin();
+        scan(employeeRepo::findReplicaRowsAfter, ReplicaRow::id, batchSize, loaded::append);
+        loaded.reindex();
+        loaded.publish();
+        return loaded;
+    }
+
+    @Override
+    protected void install(State loaded) {
+        state = loaded;
+        snapshot = loaded.snapshot;
+    }
+
+    @Override
+    protected void apply(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.CLEARED) {
+            install(new State());
+            return;
+        }
+        state.begin();
+        switch (event.getType()) {
+            case SAVED -> event.getEmployees().forEach(state::save);
+            case DELETED -> event.getIds().forEach(state::delete);
+            case PATCHED -> state.patch(event.getEmpId(), event.getPatch());
+            default -> throw new IllegalStateException("Unexpected event type " + event.getType());
+        }
+        snapshot = state.publish();
+    }
+
+    private static int offsetOf(int column, int rowInBlock) {
+        return ((column << BLOCK_SHIFT) | rowInBlock) * Integer.BYTES;
+    }
+
+    private static ByteBuffer allocateBlock() {
+        return ByteBuffer.allocateDirect(BLOCK_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * An immutable view of the replica: no row, code or name it can reach is ever written again.
+     */
+    static final class Snapshot {
+
+        private final ByteBuffer[] blocks;
+        private final int size;
+        private final OffHeapIntIntMap rowByEmpId;
+        private final OffHeapIntIntMap rowById;
+        private final String[] dictionary;
+        private final ByteBuffer[] namePages;
+
+        private Snapshot(ByteBuffer[] blocks, int size, OffHeapIntIntMap rowByEmpId, OffHeapIntIntMap rowById,
+                         String[] dictionary, ByteBuffer[] namePages) {
+            this.blocks = blocks;
+            this.size = size;
+            this.rowByEmpId = rowByEmpId;
+            this.rowById = rowById;
+            this.dictionary = dictionary;
+            this.namePages = namePages;
+        }
+
+        private int get(int row, int column) {
+            return blocks[row >>> BLOCK_SHIFT].getInt(offsetOf(column, row & BLOCK_MASK));
+        }
+
+        private String decode(int row, int column) {
+            int code = get(row, column);
+            return code == NULL_CODE ? null : dictionary[code];
+        }
+
+        private <T> List<T> rows(int from, int to, IntFunction<T> mapper) {
+            List<T> result = new ArrayList<>(to - from);
+            for (int row = from; row < to; row++) {
+                result.add(mapper.apply(row));
+            }
+            return result;
+        }
+
+        private Employee employee(int row) {
+            String[] names = StringHeap.read(namePages, get(row, NAMES));
+            Employee employee = new Employee();
+            employee.setId(get(row, ID));
+            employee.setEmpId(get(row, EMP_ID));
+            employee.setEmpName(names[0]);
+            employee.setFatherName(names[1]);
+            employee.setGender(decode(row, GENDER));
+            employee.setCategory(decode(row, CATEGORY));
+            employee.setManager_id(get(row, MANAGER_ID));
+            employee.setSalary(get(row, SALARY));
+            employee.setDesignation(decode(row, DESIGNATION));
+            employee.setVersion(get(row, VERSION));
+            return employee;
+        }
+
+        private EmployeeDTO dto(int row) {
+            String[] names = StringHeap.read(namePages, get(row, NAMES));
+            return new EmployeeDTO(get(row, ID), get(row, EMP_ID), names[0], names[1], decode(row, GENDER),
+                    decode(row, CATEGORY), get(row, MANAGER_ID), decode(row, DESIGNATION), get(row, SALARY));
+        }
+    }
+
+    /**
+     * The writer's side: dictionary, string heap and the edit in progress. Each change runs
+     * {@link #begin()}, any number of row operations, then {@link #publish()}.
+     */
+    static final class State {
+
+        private final Map<String, Integer> codeByValue = new HashMap<>();
+        private final Set<ByteBuffer> ownedBlocks = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final StringHeap names = new StringHeap();
+        private String[] dictionary = new String[16];
+        private Snapshot snapshot;
+
+        private ByteBuffer[] blocks;
+        private int size;
+        private OffHeapIntIntMap.Editor rowByEmpId;
+        private OffHeapIntIntMap.Editor rowById;
+
+        State() {
+            snapshot = new Snapshot(new ByteBuffer[0], 0, OffHeapIntIntMap.empty(0), OffHeapIntIntMap.empty(0),
+                    dictionary, names.pages());
+        }
+
+        private void begin() {
+            blocks = snapshot.blocks.clone();
+            size = snapshot.size;
+            rowByEmpId = snapshot.rowByEmpId.edit();
+            rowById = snapshot.rowById.edit();
+            ownedBlocks.clear();
+        }
+
+        private Snapshot publish() {
+            int usedBlocks = (size + BLOCK_MASK) >>> BLOCK_SHIFT;
+            if (usedBlocks < blocks.length) {
+                blocks = Arrays.copyOf(blocks, usedBlocks);
+            }
+            snapshot = new Snapshot(blocks, size, rowByEmpId.publish(), rowById.publish(), dictionary, names.pages());
+            ownedBlocks.clear();
+            return snapshot;
+        }
+
+        /**
+         * Appends a loaded row; the lookup maps are filled afterwards by {@link #reindex()}.
+         */
+        private void append(ReplicaRow row) {
+            int slot = size++;
+            set(slot, ID, row.id());
+            set(slot, EMP_ID, row.empId());
+            set(slot, MANAGER_ID, row.managerId());
+            set(slot, SALARY, row.salary());
+            set(slot, VERSION, row.version());
+            set(slot, GENDER, encode(row.gender()));
+            set(slot, CATEGORY, encode(row.category()));
+            set(slot, DESIGNATION, encode(row.designation()));
+            set(slot, NAMES, names.append(row.empName(), row.fatherName()));
+        }
+
+        /**
+         * Rebuilds both lookup maps partitioned for the current row count.
+         */
+        private void reindex() {
+            rowByEmpId = OffHeapIntIntMap.empty(size).edit();
+            rowById = OffHeapIntIntMap.empty(size).edit();
+            for (int row = 0; row < size; row++) {
+                rowByEmpId.put(get(row, EMP_ID), row, NO_ROW);
+                rowById.put(get(row, ID), row, NO_ROW);
+            }
+        }
+
+        private void save(Employee employee) {
+            int row = rowById.get(employee.getId(), NO_ROW);
+            if (row == NO_ROW) {
+                row = size++;
+                rowById.put(employee.getId(), row, NO_ROW);
+            } else if (get(row, EMP_ID) != employee.getEmpId()) {
+                rowByEmpId.remove(get(row, EMP_ID), NO_ROW);
+            }
+            rowByEmpId.put(employee.getEmpId(), row, NO_ROW);
+            set(row, ID, employee.getId());
+            set(row, EMP_ID, employee.getEmpId());
+            set(row, MANAGER_ID, employee.getManager_id());
+            set(row, SALARY, employee.getSalary());
+            set(row, VERSION, employee.getVersion());
+            set(row, GENDER, encode(employee.getGender()));
+            set(row, CATEGORY, encode(employee.getCategory()));
+            set(row, DESIGNATION, encode(employee.getDesignation()));
+            set(row, NAMES, names.append(employee.getEmpName(), employee.getFatherName()));
+        }
+
+        /**
+         * Applies the same coalescing update as the PATCH query. The version is set from the one the patch
+         * was checked against, so replaying the event after a rebuild already saw it changes nothing.
+         */
+        private void patch(int empId, EmployeePatch patch) {
+            int row = rowByEmpId.get(empId, NO_ROW);
+            if (row == NO_ROW) {
+                return;
+            }
+            if (patch.getSalary() != null) {
+                set(row, SALARY, patch.getSalary());
+            }
+            if (patch.getDesignation() != null) {
+                set(row, DESIGNATION, encode(patch.getDesignation()));
+            }
+            if (patch.getEmpName() != null || patch.getFatherName() != null) {
+                String[] current = StringHeap.read(names.pages(), get(row, NAMES));
+                set(row, NAMES, names.append(patch.getEmpName() != null ? patch.getEmpName() : current[0],
+                        patch.getFatherName() != null ? patch.getFatherName() : current[1]));
+            }
+            if (patch.getVersion() != null) {
+                set(row, VERSION, patch.getVersion() + 1);
+            }
+        }
+
+        private void delete(int id) {
+            int row = rowById.remove(id, NO_ROW);
+            if (row == NO_ROW) {
+                return;
+            }
+            rowByEmpId.remove(get(row, EMP_ID), NO_ROW);
+            int last = --size;
+            if (row != last) {
+                // Keep the rows dense: move the last row into the hole.
+                for (int column = 0; column < COLUMNS; column++) {
+                    set(row, column, get(last, column));
+                }
+                rowById.put(get(row, ID), row, NO_ROW);
+                rowByEmpId.put(get(row, EMP_ID), row, NO_ROW);
+            }
+        }
+
+        private int get(int row, int column) {
+            return blocks[row >>> BLOCK_SHIFT].getInt(offsetOf(column, row & BLOCK_MASK));
+        }
+
+        private void set(int row, int column, int value) {
+            writableBlock(row >>> BLOCK_SHIFT).putInt(offsetOf(column, row & BLOCK_MASK), value);
+        }
+
+        /**
+         * The block to write, copied first if a published snapshot may still be reading it.
+         */
+        private ByteBuffer writableBlock(int block) {
+            if (block == blocks.length) {
+                blocks = Arrays.copyOf(blocks, block + 1);
+                blocks[block] = allocateBlock();
+                ownedBlocks.add(blocks[block]);
+            } else if (!ownedBlocks.contains(blocks[block])) {
+                ByteBuffer copy = allocateBlock();
+                copy.put(0, blocks[block], 0, BLOCK_BYTES);
+                blocks[block] = copy;
+                ownedBlocks.add(copy);
+            }
+            return blocks[block];
+        }
+
+        /**
+         * Codes are only ever appended, so a published dictionary array stays valid for the codes its
+         * snapshot can contain even after later writes fill in its spare slots.
+         */
+        private int encode(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            Integer code = codeByValue.get(value);
+            if (code == null) {
+                code = codeByValue.size();
+                if (code == dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, code * 2);
+                }
+                dictionary[code] = value;
+                codeByValue.put(value, code);
+            }
+            return code;
+        }
+    }
+
+    /**
+     * Append-only UTF-8 storage for name pairs in direct-memory pages. A reference packs the page in its
+     * high bits and the byte offset in the low {@value #OFFSET_BITS}; each entry is a length-prefixed pair,
+     * with a length of -1 for null.
+     */
+    static final class StringHeap {
+
+        private static final int OFFSET_BITS = 20;
+        static final int PAGE_BYTES = 1 << OFFSET_BITS;
+        private static final int MAX_PAGES = 1 << (Integer.SIZE - 1 - OFFSET_BITS);
+
+        private ByteBuffer[] pages = new ByteBuffer[0];
+        private int position = PAGE_BYTES;
+
+        private ByteBuffer[] pages() {
+            return pages;
+        }
+
+        private int append(String first, String second) {
+            byte[] firstBytes = first == null ? null : first.getBytes(StandardCharsets.UTF_8);
+            byte[] secondBytes = second == null ? null : second.getBytes(StandardCharsets.UTF_8);
+            int length = 2 * Integer.BYTES + (firstBytes == null ? 0 : firstBytes.length)
+                    + (secondBytes == null ? 0 : secondBytes.length);
+            if (length > PAGE_BYTES) {
+                throw new IllegalArgumentException("Names too long for the replica: " + length + " bytes");
+            }
+            if (position + length > PAGE_BYTES) {
+                if (pages.length == MAX_PAGES) {
+                    throw new IllegalStateException("Replica string heap is full; rebuild to compact it");
+                }
+                // A new array, so published snapshots keep the page list they were built with.
+                pages = Arrays.copyOf(pages, pages.length + 1);
+                pages[pages.length - 1] = ByteBuffer.allocateDirect(PAGE_BYTES);
+                position = 0;
+            }
+            int reference = ((pages.length - 1) << OFFSET_BITS) | position;
+            ByteBuffer page = pages[pages.length - 1];
+            position = write(page, position, firstBytes);
+            position = write(page, position, secondBytes);
+            return reference;
+        }
+
+        private static int write(ByteBuffer page, int offset, byte[] bytes) {
+            if (bytes == null) {
+                page.putInt(offset, -1);
+                return offset + Integer.BYTES;
+            }
+            page.putInt(offset, bytes.length);
+            page.put(offset + Integer.BYTES, bytes);
+            return offset + Integer.BYTES + bytes.length;
+        }
+
+        private static String[] read(ByteBuffer[] pages, int reference) {
+            ByteBuffer page = pages[reference >>> OFFSET_BITS];
+            int offset = reference & (PAGE_BYTES - 1);
+            int firstLength = page.getInt(offset);
+            String first = read(page, offset, firstLength);
+            offset += Integer.BYTES + Math.max(0, firstLength);
+            return new String[]{first, read(page, offset, page.getInt(offset))};
+        }
+
+        private static String read(ByteBuffer page, int offset, int length) {
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            page.get(offset + Integer.BYTES, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
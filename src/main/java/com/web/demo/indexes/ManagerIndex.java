@@ -0,0 +1,112 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.ManagerLink;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.utils.IntArrayMultimap;
+import com.web.demo.utils.IntIntHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory {@code manager_id -> [Employee.id]} index so direct-report lookups do not scan the table.
+ */
+@Component
+public class ManagerIndex extends AbstractEmployeeIndex<ManagerIndex.State> {
+
+    private static final int NO_MANAGER = Integer.MIN_VALUE;
+
+    private final EmployeeRepo employeeRepo;
+
+    @Value("${employee.index.batch-size:10000}")
+    private int batchSize = 10000;
+
+    private IntArrayMultimap reportsByManager = new IntArrayMultimap();
+    private IntIntHashMap managerById = new IntIntHashMap();
+
+    public ManagerIndex(EmployeeRepo employeeRepo, MeterRegistry meterRegistry) {
+        super("manager", meterRegistry);
+        this.employeeRepo = employeeRepo;
+        Gauge.builder("employee.index.managers", this, ManagerIndex::managerCount)
+                .description("Distinct managers held in the manager index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return primary keys of the direct reports of {@code managerId}
+     */
+    public int[] reportsOf(int managerId) {
+        return read(() -> reportsByManager.get(managerId));
+    }
+
+    @Override
+    public int size() {
+        return read(managerById::size);
+    }
+
+    public int managerCount() {
+        return read(reportsByManager::keyCount);
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return read(() -> reportsByManager.sizeInBytes() + managerById.sizeInBytes());
+    }
+
+    @Override
+    protected State load() {
+        State state = new State();
+        scan(employeeRepo::findManagerLinksAfter, ManagerLink::id, batchSize, link -> {
+            state.reportsByManager.put(link.managerId(), link.id());
+            state.managerById.put(link.id(), link.managerId(), NO_MANAGER);
+        });
+        return state;
+    }
+
+    @Override
+    protected void install(State state) {
+        reportsByManager = state.reportsByManager;
+        managerById = state.managerById;
+    }
+
+    @Override
+    protected void apply(EmployeeChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> event.getEmployees().forEach(this::index);
+            case DELETED -> event.getIds().forEach(this::unindex);
+            case PATCHED -> {
+                // Patches never change manager_id.
+            }
+            case CLEARED -> {
+                reportsByManager.clear();
+                managerById.clear();
+            }
+        }
+    }
+
+    private void index(Employee employee) {
+        int previous = managerById.put(employee.getId(), employee.getManager_id(), NO_MANAGER);
+        if (previous == employee.getManager_id()) {
+            return;
+        }
+        if (previous != NO_MANAGER) {
+            reportsByManager.remove(previous, employee.getId());
+        }
+        reportsByManager.put(employee.getManager_id(), employee.getId());
+    }
+
+    private void unindex(int id) {
+        int previous = managerById.remove(id, NO_MANAGER);
+        if (previous != NO_MANAGER) {
+            reportsByManager.remove(previous, id);
+        }
+    }
+
+    static final class State {
+        private final IntArrayMultimap reportsByManager = new IntArrayMultimap();
+        private final IntIntHashMap managerById = new IntIntHashMap();
+    }
+}
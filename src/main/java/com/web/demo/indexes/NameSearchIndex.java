@@ -0,0 +1,569 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.NameRow;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.utils.IntArrayMultimap;
+import com.web.demo.utils.IntIntHashMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix and typo-tolerant lookup of employees by the words of their empName and fatherName, kept
+ * current from {@link EmployeeChangedEvent}s.
+ * <p>
+ * Names are split into lower-case terms with accents removed. Each distinct term is stored once, in a
+ * sorted map, with a posting list of the empIds whose names use it. A prefix is a range of the map. A
+ * misspelt word is matched by walking the map as a trie, carrying the edit distance table row by row and
+ * skipping every term under a prefix already too far from the word. A query matches an employee when every query word matches some
+ * term of its names. Exact beats prefix beats fuzzy, summed over the words, with ties broken by empId.
+ * A word that equals or prefixes some indexed term is taken as spelled right and is not expanded by typo.
+ */
+@Component
+public class NameSearchIndex extends AbstractEmployeeIndex<NameSearchIndex.State> {
+
+    public static final int MAX_QUERY_WORDS = 5;
+
+    private static final int EXACT = 4;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+    private static final int[] TIERS = {EXACT, PREFIX, FUZZY};
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private static final int EMP_NAME = 0;
+    private static final int FATHER_NAME = 1;
+    private static final int NONE = -1;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final EmployeeRepo employeeRepo;
+
+    @Value("${employee.index.batch-size:10000}")
+    private int batchSize = 10000;
+
+    @Value("${employee.search.max-expansions:1000}")
+    private int maxExpansions = 1000;
+
+    private State state = new State();
+
+    public NameSearchIndex(EmployeeRepo employeeRepo, MeterRegistry meterRegistry) {
+        super("name-search", meterRegistry);
+        this.employeeRepo = employeeRepo;
+    }
+
+    /**
+     * @param fuzzy match a word that neither equals nor prefixes any indexed term to the terms within one
+     *              edit of it (words of up to five letters) or two edits
+     * @return the empIds of the best {@code limit} matches, best first
+     */
+    public int[] search(String query, boolean fuzzy, int limit) {
+        List<String> words = terms(query);
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain a letter or digit");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        if (words.size() > MAX_QUERY_WORDS) {
+            throw new IllegalArgumentException("Search text may contain at most " + MAX_QUERY_WORDS + " words");
+        }
+        return read(() -> state.search(words, fuzzy, limit, maxExpansions));
+    }
+
+    @Override
+    public int size() {
+        return read(() -> state.empIdById.size());
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return read(state::sizeInBytes);
+    }
+
+    @Override
+    protected State load() {
+        State loaded = new State();
+        scan(employeeRepo::findNameRowsAfter, NameRow::id, batchSize,
+                row -> loaded.index(row.id(), row.empId(), row.empName(), row.fatherName()));
+        return loaded;
+    }
+
+    @Override
+    protected void install(State loaded) {
+        state = loaded;
+    }
+
+    @Override
+    protected void apply(EmployeeChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> event.getEmployees().forEach(this::index);
+            case DELETED -> event.getIds().forEach(state::delete);
+            case PATCHED -> state.patch(event.getEmpId(), event.getPatch());
+            case CLEARED -> state = new State();
+        }
+    }
+
+    private void index(Employee employee) {
+        state.index(employee.getId(), employee.getEmpId(), employee.getEmpName(), employee.getFatherName());
+    }
+
+    /**
+     * The distinct search terms of a text, in order of first appearance.
+     */
+    static List<String> terms(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : NON_WORD.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    static final class State {
+
+        private final TreeMap<String, Integer> termIds = new TreeMap<>();
+        // Each posting list is kept in ascending empId order, which ranking relies on.
+        private final IntArrayMultimap empIdsByTerm = new IntArrayMultimap();
+        // Values are (termId << 1 | field), so one name can be replaced without touching the other.
+        private final IntArrayMultimap termsByEmpId = new IntArrayMultimap();
+        private final IntIntHashMap empIdById = new IntIntHashMap();
+        private final IntIntHashMap idByEmpId = new IntIntHashMap();
+        private String[] terms = new String[1024];
+        private int[] freeTermIds = new int[16];
+        private int freeCount;
+        private int termCount;
+        private long termChars;
+        // Bounds of every empId indexed since the last rebuild, for the bitmaps in Ranking.
+        private int minEmpId = Integer.MAX_VALUE;
+        private int maxEmpId = Integer.MIN_VALUE;
+
+        private void index(int id, int empId, String empName, String fatherName) {
+            int previous = empIdById.put(id, empId, NONE);
+            if (previous != NONE && previous != empId) {
+                setName(previous, EMP_NAME, null);
+                setName(previous, FATHER_NAME, null);
+                idByEmpId.remove(previous, NONE);
+            }
+            idByEmpId.put(empId, id, NONE);
+            minEmpId = Math.min(minEmpId, empId);
+            maxEmpId = Math.max(maxEmpId, empId);
+            setName(empId, EMP_NAME, empName);
+            setName(empId, FATHER_NAME, fatherName);
+        }
+
+        private void patch(int empId, EmployeePatch patch) {
+            if (!idByEmpId.containsKey(empId)) {
+                return;
+            }
+            if (patch.getEmpName() != null) {
+                setName(empId, EMP_NAME, patch.getEmpName());
+            }
+            if (patch.getFatherName() != null) {
+                setName(empId, FATHER_NAME, patch.getFatherName());
+            }
+        }
+
+        private void delete(int id) {
+            int empId = empIdById.remove(id, NONE);
+            if (empId != NONE) {
+                setName(empId, EMP_NAME, null);
+                setName(empId, FATHER_NAME, null);
+                idByEmpId.remove(empId, NONE);
+            }
+        }
+
+        private void setName(int empId, int field, String name) {
+            for (int entry : termsByEmpId.get(empId)) {
+                if ((entry & 1) == field) {
+                    termsByEmpId.remove(empId, entry);
+                    int termId = entry >>> 1;
+                    empIdsByTerm.removeSorted(termId, empId);
+                    if (empIdsByTerm.count(termId) == 0) {
+                        forget(termId);
+                    }
+                }
+            }
+            for (String term : terms(name)) {
+                int termId = intern(term);
+                empIdsByTerm.putSorted(termId, empId);
+                termsByEmpId.put(empId, termId << 1 | field);
+            }
+        }
+
+        private int intern(String term) {
+            Integer termId = termIds.get(term);
+            if (termId != null) {
+                return termId;
+            }
+            int id = freeCount > 0 ? freeTermIds[--freeCount] : termCount++;
+            if (id == terms.length) {
+                terms = Arrays.copyOf(terms, id * 2);
+            }
+            terms[id] = term;
+            termIds.put(term, id);
+            termChars += term.length();
+            return id;
+        }
+
+        private void forget(int termId) {
+            String term = terms[termId];
+            terms[termId] = null;
+            termIds.remove(term);
+            termChars -= term.length();
+            if (freeCount == freeTermIds.length) {
+                freeTermIds = Arrays.copyOf(freeTermIds, freeCount * 2);
+            }
+            freeTermIds[freeCount++] = termId;
+        }
+
+        private int[] search(List<String> words, boolean fuzzy, int limit, int maxExpansions) {
+            List<IntIntHashMap> matches = new ArrayList<>(words.size());
+            for (String word : words) {
+                IntIntHashMap matched = expand(word, maxExpansions);
+                if (matched.isEmpty() && fuzzy) {
+                    addFuzzy(word, matched, maxExpansions);
+                }
+                if (matched.isEmpty()) {
+                    return new int[0];
+                }
+                matches.add(matched);
+            }
+            return new Ranking(matches, limit).run();
+        }
+
+        /**
+         * The terms a query word matches: itself, then up to {@code maxExpansions} terms it prefixes.
+         */
+        private IntIntHashMap expand(String word, int maxExpansions) {
+            IntIntHashMap matched = new IntIntHashMap();
+            Integer exact = termIds.get(word);
+            if (exact != null) {
+                matched.put(exact, EXACT, 0);
+            }
+            if (word.length() >= MIN_PREFIX_LENGTH) {
+                for (Integer termId : termIds.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+                    if (matched.size() > maxExpansions) {
+                        break;
+                    }
+                    matched.put(termId, PREFIX, 0);
+                }
+            }
+            return matched;
+        }
+
+        /**
+         * Adds the terms within the allowed edits of a query word, up to {@code maxExpansions} in all.
+         * Terms are visited in sorted order, so consecutive terms share a prefix whose rows of the
+         * optimal string alignment table are reused. Once a row has no cell within the allowed edits,
+         * no term under that prefix can be either, and the walk jumps past them all.
+         */
+        private void addFuzzy(String word, IntIntHashMap matched, int maxExpansions) {
+            int n = word.length();
+            if (n < MIN_FUZZY_LENGTH || termIds.isEmpty()) {
+                return;
+            }
+            int maxEdits = n <= 5 ? 1 : 2;
+            int maxDepth = n + maxEdits;
+            int[][] rows = new int[maxDepth + 1][n + 1];
+            for (int j = 0; j <= n; j++) {
+                rows[0][j] = j;
+            }
+            String previous = "";
+            int valid = 0;
+            Iterator<Map.Entry<String, Integer>> walk = termIds.entrySet().iterator();
+            while (walk.hasNext() && matched.size() <= maxExpansions) {
+                Map.Entry<String, Integer> entry = walk.next();
+                String term = entry.getKey();
+                int depth = Math.min(valid, commonPrefixLength(previous, term));
+                int end = Math.min(term.length(), maxDepth);
+                boolean reachable = true;
+                while (reachable && depth < end) {
+                    reachable = fillRow(rows, ++depth, term, word, maxEdits);
+                }
+                valid = reachable ? depth : depth - 1;
+                previous = term;
+                if (reachable && depth == term.length()) {
+                    if (rows[depth][n] <= maxEdits && !matched.containsKey(entry.getValue())) {
+                        matched.put(entry.getValue(), FUZZY, 0);
+                    }
+                } else {
+                    // Out of reach, or longer than any match can be: so is every term under this prefix.
+                    walk = termIds.tailMap(term.substring(0, depth) + Character.MAX_VALUE, false).entrySet().iterator();
+                }
+            }
+        }
+
+        /**
+         * Fills the table row for the first {@code depth} characters of {@code term} against
+         * {@code word}, from the rows above it.
+         *
+         * @return whether any cell of the row is within {@code maxEdits}
+         */
+        private static boolean fillRow(int[][] rows, int depth, String term, String word, int maxEdits) {
+            int[] row = rows[depth];
+            int[] above = rows[depth - 1];
+            char c = term.charAt(depth - 1);
+            row[0] = depth;
+            int min = depth;
+            for (int j = 1; j < row.length; j++) {
+                int distance = Math.min(Math.min(above[j] + 1, row[j - 1] + 1),
+                        above[j - 1] + (word.charAt(j - 1) == c ? 0 : 1));
+                if (depth > 1 && j > 1 && c == word.charAt(j - 2) && term.charAt(depth - 2) == word.charAt(j - 1)) {
+                    distance = Math.min(distance, rows[depth - 2][j - 2] + 1);
+                }
+                row[j] = distance;
+                min = Math.min(min, distance);
+            }
+            return min <= maxEdits;
+        }
+
+        private static int commonPrefixLength(String a, String b) {
+            int length = Math.min(a.length(), b.length());
+            int i = 0;
+            while (i < length && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * Orders by score, then by ascending empId: a higher rank is a better match.
+         */
+        private static long rank(int score, int empId) {
+            return (long) score << 32 | (~(empId ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+
+        /**
+         * Postings and lookup tables, plus about 100 bytes per distinct term for its string and tree entry.
+         */
+        private long sizeInBytes() {
+            return empIdsByTerm.sizeInBytes() + termsByEmpId.sizeInBytes()
+                    + empIdById.sizeInBytes() + idByEmpId.sizeInBytes() + (long) terms.length * 8
+                    + (long) termIds.size() * 100 + termChars;
+        }
+
+        /**
+         * Ranks the employees matching every query word. Candidates come from the postings of the word with
+         * the fewest, visited exact terms first, then prefixes, then typos. Postings are sorted by empId, so
+         * once the top {@code limit} is full, a posting list is abandoned at its first entry whose best
+         * possible score cannot enter it, and a whole tier is skipped once none can. Only the candidates
+         * left are checked against the other words.
+         */
+        private final class Ranking {
+
+            private final List<IntIntHashMap> matches;
+            private final int driver;
+            private final int othersMax;
+            private final long[] postings;
+            private final long[] verified;
+            private final long[][][] bitmaps;
+            private final long[] heap;
+            private int heapSize;
+            private int tierWeight;
+            private IntIntHashMap weighing;
+            private int weight;
+
+            private Ranking(List<IntIntHashMap> matches, int limit) {
+                this.matches = matches;
+                this.heap = new long[limit];
+                int fewest = 0;
+                long fewestPostings = Long.MAX_VALUE;
+                int[] maxWeights = new int[matches.size()];
+                postings = new long[matches.size()];
+                verified = new long[matches.size()];
+                bitmaps = new long[matches.size()][][];
+                for (int word = 0; word < matches.size(); word++) {
+                    int index = word;
+                    matches.get(word).forEach((termId, termWeight) -> {
+                        postings[index] += empIdsByTerm.count(termId);
+                        maxWeights[index] = Math.max(maxWeights[index], termWeight);
+                    });
+                    if (postings[word] < fewestPostings) {
+                        fewestPostings = postings[word];
+                        fewest = word;
+                    }
+                }
+                driver = fewest;
+                othersMax = Arrays.stream(maxWeights).sum() - maxWeights[driver];
+            }
+
+            /**
+             * @return the empIds of the top entries, best first
+             */
+            private int[] run() {
+                for (int tier : TIERS) {
+                    if (heapSize == heap.length && !beats(rank(tier + othersMax, Integer.MIN_VALUE))) {
+                        break;
+                    }
+                    tierWeight = tier;
+                    matches.get(driver).forEach((termId, termWeight) -> {
+                        if (termWeight == tierWeight) {
+                            empIdsByTerm.forEachWhile(termId, this::consider);
+                        }
+                    });
+                }
+                int[] empIds = new int[heapSize];
+                for (int i = empIds.length - 1; i >= 0; i--) {
+                    empIds[i] = ~(int) heap[0] ^ Integer.MIN_VALUE;
+                    heap[0] = heap[--heapSize];
+                    siftDown();
+                }
+                return empIds;
+            }
+
+            /**
+             * @return false once no later, larger, empId of the same posting list can enter the top
+             */
+            private boolean consider(int empId) {
+                if (heapSize == heap.length && !beats(rank(tierWeight + othersMax, empId))) {
+                    return false;
+                }
+                int score = tierWeight;
+                for (int word = 0; word < matches.size(); word++) {
+                    if (word != driver) {
+                        int best = bestWeight(word, empId);
+                        if (best == 0) {
+                            return true;
+                        }
+                        score += best;
+                    }
+                }
+                long rank = rank(score, empId);
+                if (heapSize < heap.length ? contains(empId) : !beats(rank) || contains(empId)) {
+                    // Seen already under a term of this or a better tier, which ranked it at least as high.
+                    return true;
+                }
+                if (heapSize < heap.length) {
+                    heap[heapSize++] = rank;
+                    siftUp();
+                } else {
+                    heap[0] = rank;
+                    siftDown();
+                }
+                return true;
+            }
+
+            /**
+             * The best weight of one word's terms among an employee's names. Looked up through the
+             * employee's terms at first; once those lookups have cost about what marking all of the word's
+             * postings in a bitmap per tier would, the bitmaps are built and tested instead.
+             */
+            private int bestWeight(int word, int empId) {
+                if (bitmaps[word] == null && ++verified[word] * 32 > postings[word] + bitmapWords()) {
+                    bitmaps[word] = bitmaps(matches.get(word));
+                }
+                if (bitmaps[word] != null) {
+                    long bit = (long) empId - minEmpId;
+                    int index = (int) (bit >>> 6);
+                    for (int tier = 0; tier < TIERS.length; tier++) {
+                        long[] bitmap = bitmaps[word][tier];
+                        if (bitmap != null && (bitmap[index] & 1L << bit) != 0) {
+                            return TIERS[tier];
+                        }
+                    }
+                    return 0;
+                }
+                weighing = matches.get(word);
+                weight = 0;
+                termsByEmpId.forEach(empId, this::weigh);
+                return weight;
+            }
+
+            /**
+             * Longs per bitmap over the indexed empId range, or effectively infinite if the range is too
+             * sparse for bitmaps to pay off.
+             */
+            private long bitmapWords() {
+                long range = (long) maxEmpId - minEmpId + 1;
+                return range > 64L * Math.max(1, empIdById.size()) ? Long.MAX_VALUE / 64 : range / 64 + 1;
+            }
+
+            private long[][] bitmaps(IntIntHashMap matched) {
+                long[][] byTier = new long[TIERS.length][];
+                int words = (int) bitmapWords();
+                matched.forEach((termId, termWeight) -> {
+                    int tier = termWeight == EXACT ? 0 : termWeight == PREFIX ? 1 : 2;
+                    if (byTier[tier] == null) {
+                        byTier[tier] = new long[words];
+                    }
+                    long[] bitmap = byTier[tier];
+                    empIdsByTerm.forEach(termId, empId -> {
+                        long bit = (long) empId - minEmpId;
+                        bitmap[(int) (bit >>> 6)] |= 1L << bit;
+                    });
+                });
+                return byTier;
+            }
+
+            private void weigh(int entry) {
+                weight = Math.max(weight, weighing.get(entry >>> 1, 0));
+            }
+
+            private boolean beats(long rank) {
+                return rank > heap[0];
+            }
+
+            private boolean contains(int empId) {
+                for (int i = 0; i < heapSize; i++) {
+                    if ((int) heap[i] == ~(empId ^ Integer.MIN_VALUE)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            private void siftUp() {
+                int i = heapSize - 1;
+                while (i > 0 && heap[(i - 1) >> 1] > heap[i]) {
+                    swap(i, (i - 1) >> 1);
+                    i = (i - 1) >> 1;
+                }
+            }
+
+            private void siftDown() {
+                int i = 0;
+                while (true) {
+                    int smallest = i;
+                    for (int child = 2 * i + 1; child <= 2 * i + 2 && child < heapSize; child++) {
+                        if (heap[child] < heap[smallest]) {
+                            smallest = child;
+                        }
+                    }
+                    if (smallest == i) {
+                        return;
+                    }
+                    swap(i, smallest);
+                    i = smallest;
+                }
+            }
+
+            private void swap(int i, int j) {
+                long held = heap[i];
+                heap[i] = heap[j];
+                heap[j] = held;
+            }
+        }
+    }
+}
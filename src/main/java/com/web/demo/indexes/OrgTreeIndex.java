@@ -0,0 +1,274 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.OrgLink;
+import com.web.demo.dtos.OrgTreeNode;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.utils.IntIntHashMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory reporting hierarchy built from the {@code manager_id -> emp_id} self-reference. Every node
+ * carries the headcount and salary of its whole subtree; writes adjust those totals along the path to
+ * the root (O(depth)) instead of recomputing them per request.
+ */
+@Slf4j
+@Component
+public class OrgTreeIndex extends AbstractEmployeeIndex<OrgTreeIndex.Forest> {
+
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private final EmployeeRepo employeeRepo;
+
+    @Value("${employee.index.batch-size:10000}")
+    private int batchSize = 10000;
+
+    @Value("${employee.org-tree.max-nodes:10000}")
+    private int maxNodes = 10000;
+
+    private Forest forest = new Forest();
+
+    public OrgTreeIndex(EmployeeRepo employeeRepo, MeterRegistry meterRegistry) {
+        super("org-tree", meterRegistry);
+        this.employeeRepo = employeeRepo;
+    }
+
+    /**
+     * Returns the reporting subtree under {@code empId} down to {@code depth} levels, with aggregates but
+     * without employee details, or null if nobody has that id and nobody reports to it.
+     */
+    public OrgTreeNode subtree(int empId, int depth) {
+        return read(() -> {
+            Node root = forest.nodes.get(empId);
+            if (root == null) {
+                return null;
+            }
+            int[] budget = {maxNodes};
+            return copy(root, depth, budget);
+        });
+    }
+
+    @Override
+    public int size() {
+        return read(() -> forest.nodes.size());
+    }
+
+    @Override
+    public long sizeInBytes() {
+        // Node header + fields + children list, plus the HashMap entry and boxed key.
+        return read(() -> forest.nodes.size() * 120L + forest.empIdById.sizeInBytes());
+    }
+
+    @Override
+    protected Forest load() {
+        Forest loaded = new Forest();
+        List<Node> present = new ArrayList<>();
+        scan(employeeRepo::findOrgLinksAfter, OrgLink::id, batchSize, link -> {
+            Node node = loaded.nodes.computeIfAbsent(link.empId(), Node::new);
+            node.id = link.id();
+            node.salary = link.salary();
+            node.managerId = link.managerId();
+            loaded.empIdById.put(link.id(), link.empId(), NONE);
+            present.add(node);
+        });
+        for (Node node : present) {
+            loaded.attach(node);
+        }
+        loaded.recomputeTotals();
+        return loaded;
+    }
+
+    @Override
+    protected void install(Forest state) {
+        forest = state;
+    }
+
+    @Override
+    protected void apply(EmployeeChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> event.getEmployees().forEach(forest::upsert);
+            case DELETED -> event.getIds().forEach(forest::remove);
+            case PATCHED -> {
+                if (event.getPatch().getSalary() != null) {
+                    forest.updateSalary(event.getEmpId(), event.getPatch().getSalary());
+                }
+            }
+            case CLEARED -> forest = new Forest();
+        }
+    }
+
+    private OrgTreeNode copy(Node node, int depth, int[] budget) {
+        if (--budget[0] < 0) {
+            throw new IllegalArgumentException("Subtree exceeds " + maxNodes + " nodes; request a smaller depth");
+        }
+        OrgTreeNode result = new OrgTreeNode();
+        result.setEmpId(node.empId);
+        result.setHeadcount(node.subtreeCount - (node.isPresent() ? 1 : 0));
+        result.setTotalSalary(node.subtreeSalary - node.salary);
+        if (depth == 0) {
+            result.setTruncated(!node.children.isEmpty());
+            return result;
+        }
+        List<OrgTreeNode> reports = new ArrayList<>(node.children.size());
+        for (Node child : node.children) {
+            reports.add(copy(child, depth - 1, budget));
+        }
+        result.setReports(reports);
+        return result;
+    }
+
+    private static final class Node {
+        private final int empId;
+        // NONE for a placeholder: an emp_id referenced as manager_id that has no row of its own.
+        private int id = NONE;
+        private int managerId = NONE;
+        private int salary;
+        private int subtreeCount;
+        private long subtreeSalary;
+        private Node parent;
+        private final List<Node> children = new ArrayList<>(0);
+
+        private Node(int empId) {
+            this.empId = empId;
+        }
+
+        private boolean isPresent() {
+            return id != NONE;
+        }
+    }
+
+    static final class Forest {
+        private final Map<Integer, Node> nodes = new HashMap<>();
+        private final IntIntHashMap empIdById = new IntIntHashMap();
+
+        private void upsert(Employee employee) {
+            int previousEmpId = empIdById.get(employee.getId(), NONE);
+            if (previousEmpId != NONE && previousEmpId != employee.getEmpId()) {
+                remove(employee.getId());
+            }
+            Node node = nodes.computeIfAbsent(employee.getEmpId(), Node::new);
+            if (!node.isPresent()) {
+                node.subtreeCount += 1;
+                node.subtreeSalary += employee.getSalary();
+                propagate(node.parent, 1, employee.getSalary());
+            } else if (node.salary != employee.getSalary()) {
+                long delta = (long) employee.getSalary() - node.salary;
+                node.subtreeSalary += delta;
+                propagate(node.parent, 0, delta);
+            }
+            node.id = employee.getId();
+            node.salary = employee.getSalary();
+            empIdById.put(employee.getId(), employee.getEmpId(), NONE);
+            if (node.managerId != employee.getManager_id() || node.parent == null) {
+                detach(node);
+                node.managerId = employee.getManager_id();
+                attach(node);
+            }
+        }
+
+        private void updateSalary(int empId, int salary) {
+            Node node = nodes.get(empId);
+            if (node == null || !node.isPresent() || node.salary == salary) {
+                return;
+            }
+            long delta = (long) salary - node.salary;
+            node.salary = salary;
+            node.subtreeSalary += delta;
+            propagate(node.parent, 0, delta);
+        }
+
+        private void remove(int id) {
+            int empId = empIdById.remove(id, NONE);
+            Node node = empId == NONE ? null : nodes.get(empId);
+            if (node == null || !node.isPresent()) {
+                return;
+            }
+            node.subtreeCount -= 1;
+            node.subtreeSalary -= node.salary;
+            propagate(node.parent, -1, -node.salary);
+            node.id = NONE;
+            node.salary = 0;
+            // Reports keep pointing at the deleted emp_id, so the node stays as a parentless placeholder.
+            detach(node);
+            node.managerId = NONE;
+            pruneIfEmpty(node);
+        }
+
+        private void attach(Node node) {
+            if (node.managerId == NONE || node.managerId == node.empId) {
+                return;
+            }
+            Node parent = nodes.computeIfAbsent(node.managerId, Node::new);
+            for (Node p = parent; p != null; p = p.parent) {
+                if (p == node) {
+                    log.warn("Reporting cycle through emp_id {}; leaving it detached", node.empId);
+                    return;
+                }
+            }
+            node.parent = parent;
+            parent.children.add(node);
+            propagate(parent, node.subtreeCount, node.subtreeSalary);
+        }
+
+        private void detach(Node node) {
+            Node parent = node.parent;
+            if (parent == null) {
+                return;
+            }
+            propagate(parent, -node.subtreeCount, -node.subtreeSalary);
+            parent.children.remove(node);
+            node.parent = null;
+            pruneIfEmpty(parent);
+        }
+
+        private void pruneIfEmpty(Node node) {
+            if (!node.isPresent() && node.children.isEmpty()) {
+                nodes.remove(node.empId);
+            }
+        }
+
+        private static void propagate(Node from, int countDelta, long salaryDelta) {
+            for (Node p = from; p != null; p = p.parent) {
+                p.subtreeCount += countDelta;
+                p.subtreeSalary += salaryDelta;
+            }
+        }
+
+        /**
+         * Recomputes all subtree totals bottom-up after a bulk load.
+         */
+        private void recomputeTotals() {
+            List<Node> order = new ArrayList<>(nodes.size());
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            for (Node node : nodes.values()) {
+                node.subtreeCount = node.isPresent() ? 1 : 0;
+                node.subtreeSalary = node.salary;
+                if (node.parent == null) {
+                    queue.add(node);
+                }
+            }
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                order.add(node);
+                queue.addAll(node.children);
+            }
+            for (int i = order.size() - 1; i >= 0; i--) {
+                Node node = order.get(i);
+                if (node.parent != null) {
+                    node.parent.subtreeCount += node.subtreeCount;
+                    node.parent.subtreeSalary += node.subtreeSalary;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.SalaryStats;
+import com.web.demo.dtos.SalaryStats.GroupBy;
+import com.web.demo.dtos.StatsRow;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.utils.IntIntHashMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Headcount and salary aggregates per designation, category, gender and manager, kept current from
+ * {@link EmployeeChangedEvent}s so {@link #stats(GroupBy)} costs O(groups).
+ * <p>
+ * Rows are held column-wise in primitive arrays, with each grouped column dictionary-encoded. Count and
+ * total are adjusted in place on every change. A minimum or maximum cannot be un-applied, so removing a
+ * group's current extreme marks that column stale and the next read re-aggregates it in one pass over the
+ * arrays, split across the common fork-join pool above {@code employee.stats.parallel-threshold} rows.
+ */
+@Component
+public class SalaryStatsIndex extends AbstractEmployeeIndex<SalaryStatsIndex.State> {
+
+    private static final int NO_SLOT = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EmployeeRepo employeeRepo;
+
+    @Value("${employee.index.batch-size:10000}")
+    private int batchSize = 10000;
+
+    @Value("${employee.stats.parallel-threshold:100000}")
+    private int parallelThreshold = 100000;
+
+    private State state = new State(INITIAL_CAPACITY);
+
+    public SalaryStatsIndex(EmployeeRepo employeeRepo, MeterRegistry meterRegistry) {
+        super("salary-stats", meterRegistry);
+        this.employeeRepo = employeeRepo;
+    }
+
+    /**
+     * @return one entry per non-empty group, in dictionary (first seen) order
+     */
+    public List<SalaryStats> stats(GroupBy groupBy) {
+        return read(() -> {
+            Column column = state.columns[groupBy.ordinal()];
+            // Readers may share the read lock, so refreshing a stale column is serialized per column.
+            synchronized (column) {
+                if (column.stale) {
+                    column.aggregates = aggregate(column, state.salaries, state.size, parallelThreshold);
+                    column.stale = false;
+                }
+                return column.snapshot();
+            }
+        });
+    }
+
+    @Override
+    public int size() {
+        return read(() -> state.size);
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return read(state::sizeInBytes);
+    }
+
+    @Override
+    protected State load() {
+        State loaded = new State(INITIAL_CAPACITY);
+        scan(employeeRepo::findStatsRowsAfter, StatsRow::id, batchSize, row -> {
+            int slot = loaded.append(row.id(), row.empId(), row.salary());
+            loaded.encode(slot, new Object[]{row.designation(), row.category(), row.gender(), row.managerId()});
+        });
+        for (Column column : loaded.columns) {
+            column.aggregates = aggregate(column, loaded.salaries, loaded.size, parallelThreshold);
+        }
+        return loaded;
+    }
+
+    @Override
+    protected void install(State loaded) {
+        state = loaded;
+    }
+
+    @Override
+    protected void apply(EmployeeChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> event.getEmployees().forEach(state::save);
+            case DELETED -> event.getIds().forEach(state::delete);
+            case PATCHED -> state.patch(event.getEmpId(), event.getPatch());
+            case CLEARED -> state = new State(INITIAL_CAPACITY);
+        }
+    }
+
+    /**
+     * Aggregates one column over the first {@code size} slots, with a partial accumulator per chunk.
+     */
+    static Aggregates aggregate(Column column, int[] salaries, int size, int parallelThreshold) {
+        int groups = column.keys.size();
+        int[] codes = column.codes;
+        if (size < parallelThreshold) {
+            return Aggregates.of(codes, salaries, 0, size, groups);
+        }
+        int chunks = ForkJoinPool.getCommonPoolParallelism() * 4;
+        int chunkSize = (size + chunks - 1) / chunks;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> Aggregates.of(codes, salaries, chunk * chunkSize,
+                        Math.min(size, (chunk + 1) * chunkSize), groups))
+                .reduce(Aggregates::merge)
+                .orElseGet(() -> new Aggregates(groups));
+    }
+
+    static final class State {
+
+        private final Column[] columns = new Column[GroupBy.values().length];
+        private final IntIntHashMap slotById = new IntIntHashMap();
+        private final IntIntHashMap slotByEmpId = new IntIntHashMap();
+        private int[] ids;
+        private int[] empIds;
+        private int[] salaries;
+        private int size;
+
+        State(int capacity) {
+            ids = new int[capacity];
+            empIds = new int[capacity];
+            salaries = new int[capacity];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = new Column(capacity);
+            }
+        }
+
+        private int append(int id, int empId, int salary) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                empIds = Arrays.copyOf(empIds, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+                for (Column column : columns) {
+                    column.codes = Arrays.copyOf(column.codes, capacity);
+                }
+            }
+            int slot = size++;
+            ids[slot] = id;
+            empIds[slot] = empId;
+            salaries[slot] = salary;
+            slotById.put(id, slot, NO_SLOT);
+            slotByEmpId.put(empId, slot, NO_SLOT);
+            return slot;
+        }
+
+        /**
+         * Sets the group codes of a slot, {@code keys} in {@link GroupBy} order, without touching the aggregates.
+         */
+        private void encode(int slot, Object[] keys) {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].codes[slot] = columns[i].encode(keys[i]);
+            }
+        }
+
+        private void save(Employee employee) {
+            Object[] keys = {employee.getDesignation(), employee.getCategory(), employee.getGender(),
+                    employee.getManager_id()};
+            int slot = slotById.get(employee.getId(), NO_SLOT);
+            if (slot == NO_SLOT) {
+                slot = append(employee.getId(), employee.getEmpId(), employee.getSalary());
+            } else {
+                subtract(slot);
+                if (empIds[slot] != employee.getEmpId()) {
+                    slotByEmpId.remove(empIds[slot], NO_SLOT);
+                    empIds[slot] = employee.getEmpId();
+                    slotByEmpId.put(employee.getEmpId(), slot, NO_SLOT);
+                }
+                salaries[slot] = employee.getSalary();
+            }
+            encode(slot, keys);
+            add(slot);
+        }
+
+        private void patch(int empId, EmployeePatch patch) {
+            int slot = slotByEmpId.get(empId, NO_SLOT);
+            if (slot == NO_SLOT || (patch.getSalary() == null && patch.getDesignation() == null)) {
+                return;
+            }
+            subtract(slot);
+            if (patch.getSalary() != null) {
+                salaries[slot] = patch.getSalary();
+            }
+            if (patch.getDesignation() != null) {
+                Column designations = columns[GroupBy.DESIGNATION.ordinal()];
+                designations.codes[slot] = designations.encode(patch.getDesignation());
+            }
+            add(slot);
+        }
+
+        private void delete(int id) {
+            int slot = slotById.remove(id, NO_SLOT);
+            if (slot == NO_SLOT) {
+                return;
+            }
+            subtract(slot);
+            slotByEmpId.remove(empIds[slot], NO_SLOT);
+            int last = --size;
+            if (slot != last) {
+                // Keep the live rows dense: move the last row into the hole.
+                ids[slot] = ids[last];
+                empIds[slot] = empIds[last];
+                salaries[slot] = salaries[last];
+                for (Column column : columns) {
+                    column.codes[slot] = column.codes[last];
+                }
+                slotById.put(ids[slot], slot, NO_SLOT);
+                slotByEmpId.put(empIds[slot], slot, NO_SLOT);
+            }
+        }
+
+        private void add(int slot) {
+            for (Column column : columns) {
+                column.aggregates.add(column.codes[slot], salaries[slot]);
+            }
+        }
+
+        private void subtract(int slot) {
+            for (Column column : columns) {
+                if (column.aggregates.subtract(column.codes[slot], salaries[slot])) {
+                    column.stale = true;
+                }
+            }
+        }
+
+        private long sizeInBytes() {
+            long bytes = (long) ids.length * Integer.BYTES * 3 + slotById.sizeInBytes() + slotByEmpId.sizeInBytes();
+            for (Column column : columns) {
+                bytes += (long) column.codes.length * Integer.BYTES + column.aggregates.sizeInBytes();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * One grouped column: a dictionary of its distinct values (null included), each row's code, and the
+     * aggregates per code. Codes are never reused; a rebuild compacts them.
+     */
+    static final class Column {
+
+        private final Map<Object, Integer> codeByKey = new HashMap<>();
+        private final List<Object> keys = new ArrayList<>();
+        private int[] codes;
+        private Aggregates aggregates = new Aggregates(0);
+        private boolean stale;
+
+        Column(int capacity) {
+            codes = new int[capacity];
+        }
+
+        private int encode(Object key) {
+            Integer code = codeByKey.get(key);
+            if (code == null) {
+                code = keys.size();
+                keys.add(key);
+                codeByKey.put(key, code);
+            }
+            return code;
+        }
+
+        private List<SalaryStats> snapshot() {
+            List<SalaryStats> stats = new ArrayList<>();
+            for (int code = 0; code < keys.size() && code < aggregates.count.length; code++) {
+                if (aggregates.count[code] > 0) {
+                    Object key = keys.get(code);
+                    stats.add(new SalaryStats(key == null ? null : key.toString(), aggregates.count[code],
+                            aggregates.total[code], aggregates.min[code], aggregates.max[code]));
+                }
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Count, total, minimum and maximum salary per group code.
+     */
+    static final class Aggregates {
+
+        private long[] count;
+        private long[] total;
+        private int[] min;
+        private int[] max;
+
+        Aggregates(int groups) {
+            count = new long[groups];
+            total = new long[groups];
+            min = new int[groups];
+            max = new int[groups];
+            Arrays.fill(min, Integer.MAX_VALUE);
+            Arrays.fill(max, Integer.MIN_VALUE);
+        }
+
+        static Aggregates of(int[] codes, int[] salaries, int from, int to, int groups) {
+            Aggregates aggregates = new Aggregates(groups);
+            for (int slot = from; slot < to; slot++) {
+                aggregates.add(codes[slot], salaries[slot]);
+            }
+            return aggregates;
+        }
+
+        Aggregates merge(Aggregates other) {
+            for (int code = 0; code < other.count.length; code++) {
+                count[code] += other.count[code];
+                total[code] += other.total[code];
+                min[code] = Math.min(min[code], other.min[code]);
+                max[code] = Math.max(max[code], other.max[code]);
+            }
+            return this;
+        }
+
+        void add(int code, int salary) {
+            if (code >= count.length) {
+                grow(code + 1);
+            }
+            count[code]++;
+            total[code] += salary;
+            min[code] = Math.min(min[code], salary);
+            max[code] = Math.max(max[code], salary);
+        }
+
+        /**
+         * @return true if the group's minimum or maximum may now be wrong
+         */
+        boolean subtract(int code, int salary) {
+            count[code]--;
+            total[code] -= salary;
+            if (count[code] == 0) {
+                min[code] = Integer.MAX_VALUE;
+                max[code] = Integer.MIN_VALUE;
+                return false;
+            }
+            return salary == min[code] || salary == max[code];
+        }
+
+        private void grow(int groups) {
+            int capacity = Math.max(groups, count.length * 2);
+            int previous = count.length;
+            count = Arrays.copyOf(count, capacity);
+            total = Arrays.copyOf(total, capacity);
+            min = Arrays.copyOf(min, capacity);
+            max = Arrays.copyOf(max, capacity);
+            Arrays.fill(min, previous, capacity, Integer.MAX_VALUE);
+            Arrays.fill(max, previous, capacity, Integer.MIN_VALUE);
+        }
+
+        private long sizeInBytes() {
+            return (long) count.length * (Long.BYTES * 2 + Integer.BYTES * 2);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.web.demo.metrics;
+
+import com.web.demo.dtos.EmployeePage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records {@code employee.calls} (latency, by outcome) and {@code employee.call.rows} (rows returned or
+ * modified) for every call through a service or repository proxy. Meters are resolved once per method
+ * and cached, so a call costs two {@code nanoTime()} reads and lock-free histogram updates. A returned
+ * {@link Mono} or {@link Flux} is timed from subscription to its terminal signal, counting the rows it emits.
+ */
+public class CallMetricsInterceptor implements MethodInterceptor {
+
+    private final String layer;
+    private final String component;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, CallMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * @param component the tag value for {@code class}, or null to use the target's class name
+     */
+    public CallMetricsInterceptor(String layer, String component, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.layer = layer;
+        this.component = component;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        CallMeters callMeters = meters.get(invocation.getMethod());
+        if (callMeters == null) {
+            callMeters = meters.computeIfAbsent(invocation.getMethod(), method -> register(method, invocation.getThis()));
+        }
+        if (callMeters.rowCount == RowCount.PUBLISHER) {
+            return measure(invocation, callMeters);
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable ex) {
+            callMeters.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+        callMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (callMeters.rows != null) {
+            long rows = callMeters.rowCount.count(result);
+            if (rows >= 0) {
+                callMeters.rows.record(rows);
+            }
+        }
+        return result;
+    }
+
+    private static Object measure(MethodInvocation invocation, CallMeters callMeters) throws Throwable {
+        Object result = invocation.proceed();
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                long[] rows = new long[1];
+                return mono.doOnNext(row -> rows[0]++)
+                        .doOnSuccess(row -> callMeters.succeeded(start, rows[0]))
+                        .doOnError(ex -> callMeters.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                long[] rows = new long[1];
+                return flux.doOnNext(row -> rows[0]++)
+                        .doOnComplete(() -> callMeters.succeeded(start, rows[0]))
+                        .doOnError(ex -> callMeters.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            });
+        }
+        return result;
+    }
+
+    private CallMeters register(Method method, Object target) {
+        MeterRegistry registry = meterRegistry.getObject();
+        String className = component != null ? component
+                : target != null ? AopUtils.getTargetClass(target).getSimpleName() : method.getDeclaringClass().getSimpleName();
+        Timer success = timer(registry, className, method, "SUCCESS");
+        RowCount rowCount = RowCount.of(method);
+        DistributionSummary rows = rowCount == RowCount.NONE ? null
+                : DistributionSummary.builder("employee.call.rows")
+                .description("Rows returned or modified by a service or repository call")
+                .baseUnit("rows")
+                .tags("layer", layer, "class", className, "method", method.getName())
+                .register(registry);
+        return new CallMeters(success, rows, rowCount, () -> timer(registry, className, method, "ERROR"));
+    }
+
+    private Timer timer(MeterRegistry registry, String className, Method method, String outcome) {
+        return Timer.builder("employee.calls")
+                .description("Latency of service and repository calls")
+                .tags("layer", layer, "class", className, "method", method.getName(), "outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * The error timer is registered on the first failure, so methods that never fail export one histogram.
+     */
+    private static final class CallMeters {
+
+        private final Timer success;
+        private final DistributionSummary rows;
+        private final RowCount rowCount;
+        private final Supplier<Timer> errorTimer;
+        private volatile Timer error;
+
+        private CallMeters(Timer success, DistributionSummary rows, RowCount rowCount, Supplier<Timer> errorTimer) {
+            this.success = success;
+            this.rows = rows;
+            this.rowCount = rowCount;
+            this.errorTimer = errorTimer;
+        }
+
+        private void succeeded(long start, long rows) {
+            success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            this.rows.record(rows);
+        }
+
+        private Timer error() {
+            Timer timer = error;
+            if (timer == null) {
+                // Registration is idempotent, so a race only looks the meter up twice.
+                timer = errorTimer.get();
+                error = timer;
+            }
+            return timer;
+        }
+    }
+
+    /**
+     * How to read a row count off a return value, decided once from the method signature.
+     */
+    enum RowCount {
+        COLLECTION, SLICE, OPTIONAL, PAGE, MODIFIED, PUBLISHER, NONE;
+
+        static RowCount of(Method method) {
+            Class<?> type = method.getReturnType();
+            if (Collection.class.isAssignableFrom(type)) {
+                return COLLECTION;
+            }
+            if (Slice.class.isAssignableFrom(type)) {
+                return SLICE;
+            }
+            if (Optional.class.equals(type)) {
+                return OPTIONAL;
+            }
+            if (Mono.class.isAssignableFrom(type) || Flux.class.isAssignableFrom(type)) {
+                return PUBLISHER;
+            }
+            if (EmployeePage.class.equals(type)) {
+                return PAGE;
+            }
+            if ((type == int.class || type == Integer.class) && method.isAnnotationPresent(Modifying.class)) {
+                return MODIFIED;
+            }
+            return NONE;
+        }
+
+        long count(Object result) {
+            if (result == null) {
+                return 0;
+            }
+            return switch (this) {
+                case COLLECTION -> ((Collection<?>) result).size();
+                case SLICE -> ((Slice<?>) result).getNumberOfElements();
+                case OPTIONAL -> ((Optional<?>) result).isPresent() ? 1 : 0;
+                case PAGE -> ((EmployeePage) result).getItems().size();
+                case MODIFIED -> ((Number) result).longValue();
+                case PUBLISHER, NONE -> -1;
+            };
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.web.demo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records, per endpoint, the JDBC statements issued on the request thread
+ * ({@code employee.http.jdbc.statements}, warning above {@code warnThreshold}) and the response bytes written
+ * ({@code employee.http.response.bytes}). Latency per endpoint is Spring Boot's
+ * {@code http.server.requests}. Statements run by a streaming body on another thread are not counted.
+ */
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final Map<String, Map<String, RequestMeters>> metersByMethod = new ConcurrentHashMap<>();
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementTracker.Scope scope = StatementTracker.start(warnThreshold);
+        CountingResponse counting = new CountingResponse(response);
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            scope.close();
+            int statements = scope.count();
+            if (statements > warnThreshold) {
+                log.warn("{} {} issued {} JDBC statements (threshold {}):\n{}", request.getMethod(),
+                        request.getRequestURI(), statements, warnThreshold, scope.describeShapes(), scope.overflowStack());
+            }
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, statements, counting.bytes);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                counting.flushWriter();
+                record(request, statements, counting.bytes);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements, long bytes) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        String method = request.getMethod();
+        Map<String, RequestMeters> byUri = metersByMethod.get(method);
+        if (byUri == null) {
+            byUri = metersByMethod.computeIfAbsent(method, ignored -> new ConcurrentHashMap<>());
+        }
+        RequestMeters meters = byUri.get(uri);
+        if (meters == null) {
+            meters = byUri.computeIfAbsent(uri, ignored -> register(method, uri));
+        }
+        meters.statements.record(statements);
+        meters.bytes.record(bytes);
+    }
+
+    private RequestMeters register(String method, String uri) {
+        DistributionSummary statements = DistributionSummary.builder("employee.http.jdbc.statements")
+                .description("JDBC statements issued while handling a request")
+                .baseUnit("statements")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry);
+        DistributionSummary bytes = DistributionSummary.builder("employee.http.response.bytes")
+                .description("Response body bytes written for a request")
+                .baseUnit("bytes")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry);
+        return new RequestMeters(statements, bytes);
+    }
+
+    private record RequestMeters(DistributionSummary statements, DistributionSummary bytes) {
+    }
+
+    /**
+     * Counts body bytes as they pass through to the container's stream.
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private volatile long bytes;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                        Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        private void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.web.demo.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Per-thread tally of the JDBC statements executed through
+ * {@link com.web.demo.configs.StatementCountingDataSource}. {@link RequestMetricsFilter} opens a scope per
+ * HTTP request; tests open their own to pin a statement budget:
+ * <pre>{@code
+ * try (StatementTracker.Scope scope = StatementTracker.start()) {
+ *     employeeService.findByEmpId(101);
+ *     scope.assertAtMost(1);
+ * }
+ * }</pre>
+ */
+public final class StatementTracker {
+
+    private static final int MAX_SHAPES = 50;
+    private static final String OTHER_SHAPES = "<other>";
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementTracker() {
+    }
+
+    /**
+     * Starts counting on this thread until the scope is closed. Scopes nest; an outer scope also
+     * counts what its inner scopes saw.
+     */
+    public static Scope start() {
+        return start(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #start()}, and captures the stack of the first statement beyond {@code stackThreshold}.
+     */
+    public static Scope start(int stackThreshold) {
+        Scope scope = new Scope(CURRENT.get(), stackThreshold);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Called for every statement execution (a JDBC batch counts once). A no-op outside a scope.
+     *
+     * @param sql the prepared SQL, or the literal SQL of a plain statement; null if unknown
+     * @param prepared whether {@code sql} already uses bind parameters
+     */
+    public static void record(String sql, boolean prepared) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(sql == null ? "<unknown>" : prepared ? sql : shapeOf(sql));
+        }
+    }
+
+    /**
+     * Reduces literal SQL to its shape, so {@code WHERE id = 1} and {@code WHERE id = 2} tally together.
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final int stackThreshold;
+        private final Map<String, int[]> shapes = new LinkedHashMap<>();
+        private int count;
+        private Throwable overflowStack;
+        private boolean closed;
+
+        private Scope(Scope parent, int stackThreshold) {
+            this.parent = parent;
+            this.stackThreshold = stackThreshold;
+        }
+
+        private void record(String shape) {
+            count++;
+            if (count == stackThreshold + 1 && stackThreshold != Integer.MAX_VALUE) {
+                overflowStack = new Throwable("Statement " + count + " exceeded the threshold of " + stackThreshold);
+            }
+            int[] executions = shapes.get(shape);
+            if (executions == null) {
+                String key = shapes.size() < MAX_SHAPES ? shape : OTHER_SHAPES;
+                executions = shapes.computeIfAbsent(key, ignored -> new int[1]);
+            }
+            executions[0]++;
+            if (parent != null) {
+                parent.record(shape);
+            }
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * Executions per statement shape, in first-seen order.
+         */
+        public Map<String, Integer> shapes() {
+            Map<String, Integer> result = new LinkedHashMap<>();
+            shapes.forEach((shape, executions) -> result.put(shape, executions[0]));
+            return Collections.unmodifiableMap(result);
+        }
+
+        /**
+         * The stack of the first statement past the threshold given to {@link #start(int)}, if any.
+         */
+        public Throwable overflowStack() {
+            return overflowStack;
+        }
+
+        public Scope assertAtMost(int maxStatements) {
+            if (count > maxStatements) {
+                throw new AssertionError("Expected at most " + maxStatements + " JDBC statements but "
+                        + count + " ran:\n" + describeShapes());
+            }
+            return this;
+        }
+
+        public Scope assertExactly(int statements) {
+            if (count != statements) {
+                throw new AssertionError("Expected " + statements + " JDBC statements but "
+                        + count + " ran:\n" + describeShapes());
+            }
+            return this;
+        }
+
+        /**
+         * Fails if any single statement shape ran more than {@code maxExecutions} times, the usual sign of N+1.
+         */
+        public Scope assertNoShapeRepeatedMoreThan(int maxExecutions) {
+            shapes.forEach((shape, executions) -> {
+                if (executions[0] > maxExecutions) {
+                    throw new AssertionError("Statement ran " + executions[0] + " times (at most " + maxExecutions
+                            + " expected): " + shape);
+                }
+            });
+            return this;
+        }
+
+        public String describeShapes() {
+            return shapes.entrySet().stream()
+                    .sorted((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]))
+                    .map(entry -> "  " + entry.getValue()[0] + "x " + entry.getKey())
+                    .collect(Collectors.joining("\n"));
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.web.demo.models;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee")
 @Table(name = "EMPLOYEE_DATA")
 public class Employee {
 
     @Id
     @Column(name = "ID")
     private int id;
-    @Column(name = "EMP_ID")
+    @Column(name = "EMP_ID", unique = true)
     private int empId;
     @Column(name = "EMP_NAME")
     private String empName;
@@ -28,6 +34,9 @@ public class Employee {
     private int salary;
     @Column(name = "DESIGNATION")
     private String designation;
+    @Version
+    @Column(name = "VERSION")
+    private int version;
 
     public int getSalary() {
         return salary;
@@ -93,6 +102,14 @@ public class Employee {
         this.category = category;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public int getManager_id() {
         return manager_id;
     }
@@ -113,6 +130,7 @@ public class Employee {
                 ", manager_id=" + manager_id +
                 ", salary=" + salary +
                 ", designation='" + designation + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,387 @@
+package com.web.demo.queues;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.demo.dtos.EmployeeWrite;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.exceptions.WriteBehindQueueFullException;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeIdAllocator;
+import com.web.demo.repos.EmployeeRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional write-behind buffer for {@code /emp/create} and {@code /emp/update/{id}}. Accepted writes are
+ * journaled, coalesced per {@code empId} and written in JDBC batches when {@code batch-size} employees
+ * are pending or every {@code flush-interval}, whichever comes first, at most {@code batch-size} per
+ * transaction. When {@code capacity} employees are pending, writes for new ones are refused with
+ * {@link WriteBehindQueueFullException} (429). A write the database rejects, or that has failed
+ * {@code max-attempts} flushes, is moved to the {@code dead-letter} journal instead of being retried.
+ * <p>
+ * Writes skip the version check: the last accepted value of each field wins. Reads see a write only
+ * after it has been flushed.
+ */
+@Slf4j
+@Component
+public class EmployeeWriteBehindQueue {
+
+    private final EmployeeRepo employeeRepo;
+    private final EmployeeIdAllocator idAllocator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter writtenCounter;
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer flushTimer;
+
+    private final Object lock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private Map<Integer, EmployeeWrite> pending = new LinkedHashMap<>();
+    private WriteBehindJournal journal;
+    private WriteBehindJournal deadLetters;
+    private ScheduledExecutorService flusher;
+
+    @Setter
+    @Value("${employee.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Setter
+    @Value("${employee.write-behind.capacity:10000}")
+    private int capacity = 10000;
+
+    @Setter
+    @Value("${employee.write-behind.batch-size:500}")
+    private int batchSize = 500;
+
+    @Setter
+    @Value("${employee.write-behind.flush-interval:1s}")
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    @Setter
+    @Value("${employee.write-behind.journal:data/employee-write-behind.journal}")
+    private String journalPath = "data/employee-write-behind.journal";
+
+    @Setter
+    @Value("${employee.write-behind.dead-letter:data/employee-write-behind.dead-letter}")
+    private String deadLetterPath = "data/employee-write-behind.dead-letter";
+
+    @Setter
+    @Value("${employee.write-behind.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Setter
+    @Value("${employee.write-behind.fsync:true}")
+    private boolean fsync = true;
+
+    public EmployeeWriteBehindQueue(EmployeeRepo employeeRepo, EmployeeIdAllocator idAllocator,
+                                    EntityManager entityManager, TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry) {
+        this.employeeRepo = employeeRepo;
+        this.idAllocator = idAllocator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.acceptedCounter = Counter.builder("employee.write-behind.accepted")
+                .description("Mutations accepted into the write-behind queue")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("employee.write-behind.rejected")
+                .description("Mutations refused because the write-behind queue was full")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("employee.write-behind.written")
+                .description("Employee rows written by write-behind flushes")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("employee.write-behind.coalesced")
+                .description("Mutations folded into another pending mutation for the same employee")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("employee.write-behind.dropped")
+                .description("Mutations dead-lettered because the database rejected them")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("employee.write-behind.dead-lettered")
+                .description("Mutations given up on after failing max-attempts flushes")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("employee.write-behind.flush")
+                .description("Time to write one batch of pending mutations")
+                .register(meterRegistry);
+        Gauge.builder("employee.write-behind.depth", this, EmployeeWriteBehindQueue::depth)
+                .description("Employees with mutations waiting to be flushed")
+                .register(meterRegistry);
+        Gauge.builder("employee.write-behind.coalescing.ratio", this, EmployeeWriteBehindQueue::coalescingRatio)
+                .description("Share of flushed mutations that were absorbed by coalescing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads writes that were accepted but not flushed before the last shutdown or crash, then starts
+     * the periodic flush.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        journal = WriteBehindJournal.open(Path.of(journalPath), objectMapper, fsync);
+        deadLetters = WriteBehindJournal.open(Path.of(deadLetterPath), objectMapper, fsync);
+        List<EmployeeWrite> replayed = journal.replay();
+        synchronized (lock) {
+            replayed.forEach(this::coalesceInto);
+        }
+        if (!replayed.isEmpty()) {
+            log.info("Replayed {} write-behind mutations for {} employees from {}", replayed.size(), depth(), journalPath);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flushQuietly();
+        synchronized (lock) {
+            journal.close();
+        }
+        deadLetters.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Journals and queues one mutation. Returns once the write is durable in the journal, not in the database.
+     */
+    public void enqueue(EmployeeWrite write) {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind is disabled");
+        }
+        int depth;
+        synchronized (lock) {
+            if (!pending.containsKey(write.getEmpId()) && pending.size() >= capacity) {
+                rejectedCounter.increment();
+                throw new WriteBehindQueueFullException("Write-behind queue is full (" + capacity + " employees pending)",
+                        Math.max(1, flushInterval.toSeconds()));
+            }
+            journal.append(write);
+            coalesceInto(write);
+            depth = pending.size();
+        }
+        acceptedCounter.increment();
+        if (depth >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Writes what was pending when the flush began, oldest first, in one transaction per
+     * {@code batch-size} employees. A batch that fails on a transient error goes back to the queue and
+     * ends the flush; a batch that hits a constraint violation is retried row by row and the offending
+     * rows are dead-lettered. Returns the number of rows written.
+     */
+    public synchronized int flush() {
+        flushRequested.set(false);
+        int remaining = depth();
+        int written = 0;
+        while (remaining > 0) {
+            List<EmployeeWrite> batch = drain(Math.min(remaining, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            remaining -= batch.size();
+            long start = System.nanoTime();
+            List<EmployeeWrite> retry = new ArrayList<>();
+            try {
+                written += write(batch);
+            } catch (RuntimeException ex) {
+                if (!isConstraintViolation(ex)) {
+                    log.warn("Write-behind flush of {} employees failed; retrying later", batch.size(), ex);
+                    retry.addAll(batch);
+                } else {
+                    log.warn("Write-behind flush of {} employees hit a constraint violation; writing rows one by one",
+                            batch.size(), ex);
+                    written += writeOneByOne(batch, retry);
+                }
+            }
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!retry.isEmpty()) {
+                requeue(retry);
+                break;
+            }
+        }
+        synchronized (lock) {
+            journal.rewrite(pending.values());
+        }
+        return written;
+    }
+
+    public int depth() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    private double coalescingRatio() {
+        double coalesced = coalescedCounter.count();
+        double total = coalesced + writtenCounter.count();
+        return total == 0 ? 0 : coalesced / total;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Write-behind flush failed", ex);
+        }
+    }
+
+    private void coalesceInto(EmployeeWrite write) {
+        pending.merge(write.getEmpId(), write, EmployeeWrite::coalesce);
+    }
+
+    private List<EmployeeWrite> drain(int limit) {
+        List<EmployeeWrite> batch = new ArrayList<>(limit);
+        synchronized (lock) {
+            Iterator<EmployeeWrite> writes = pending.values().iterator();
+            while (batch.size() < limit && writes.hasNext()) {
+                batch.add(writes.next());
+                writes.remove();
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Puts failed writes back at the head of the queue, or dead-letters those that have failed
+     * {@code max-attempts} flushes so one bad row or a lasting outage cannot hold the queue full.
+     */
+    private void requeue(List<EmployeeWrite> failed) {
+        Map<Integer, EmployeeWrite> merged = new LinkedHashMap<>();
+        for (EmployeeWrite write : failed) {
+            if (write.recordFailedAttempt() >= maxAttempts) {
+                deadLetteredCounter.increment(write.getMutations());
+                deadLetter(write, "failed " + maxAttempts + " flushes");
+            } else {
+                merged.put(write.getEmpId(), write);
+            }
+        }
+        synchronized (lock) {
+            // The retried writes are older than anything still pending.
+            pending.values().forEach(write -> merged.merge(write.getEmpId(), write, EmployeeWrite::coalesce));
+            pending = merged;
+        }
+    }
+
+    private void deadLetter(EmployeeWrite write, String reason) {
+        log.error("Moving write-behind mutation to {} ({}): {}", deadLetterPath, reason, write);
+        deadLetters.append(write);
+    }
+
+    private int writeOneByOne(Collection<EmployeeWrite> writes, List<EmployeeWrite> retry) {
+        int written = 0;
+        for (EmployeeWrite write : writes) {
+            try {
+                written += write(List.of(write));
+            } catch (RuntimeException ex) {
+                if (isConstraintViolation(ex)) {
+                    droppedCounter.increment(write.getMutations());
+                    log.error("Write-behind mutation rejected by the database: {}", write, ex);
+                    deadLetter(write, "rejected by the database");
+                } else {
+                    retry.add(write);
+                }
+            }
+        }
+        return written;
+    }
+
+    private int write(Collection<EmployeeWrite> writes) {
+        List<EmployeeWrite> rows = List.copyOf(writes);
+        Integer written = transactionTemplate.execute(status -> {
+            for (int from = 0; from < rows.size(); from += EmployeeRepo.MAX_IN_LIST_SIZE) {
+                writeChunk(rows.subList(from, Math.min(from + EmployeeRepo.MAX_IN_LIST_SIZE, rows.size())));
+            }
+            return rows.size();
+        });
+        int mutations = rows.stream().mapToInt(EmployeeWrite::getMutations).sum();
+        writtenCounter.increment(rows.size());
+        coalescedCounter.increment(mutations - rows.size());
+        return written == null ? 0 : written;
+    }
+
+    private void writeChunk(List<EmployeeWrite> chunk) {
+        Map<Integer, Employee> existing = new HashMap<>();
+        employeeRepo.findAllByEmpIdIn(chunk.stream().map(EmployeeWrite::getEmpId).toList())
+                .forEach(employee -> existing.put(employee.getEmpId(), employee));
+        List<Employee> saved = new ArrayList<>(chunk.size());
+        for (EmployeeWrite write : chunk) {
+            Employee employee = existing.get(write.getEmpId());
+            if (employee == null) {
+                employee = write.toNewEmployee();
+                if (employee.getId() == 0) {
+                    employee.setId(idAllocator.nextId());
+                }
+                entityManager.persist(employee);
+            } else {
+                write.applyTo(employee);
+            }
+            saved.add(employee);
+        }
+        // Dirty checking and ordered inserts turn the chunk into JDBC batches.
+        entityManager.flush();
+        entityManager.clear();
+        eventPublisher.publishEvent(EmployeeChangedEvent.saved(saved));
+    }
+
+    private static boolean isConstraintViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException
+                    || cause instanceof org.hibernate.exception.ConstraintViolationException
+                    || cause instanceof SQLIntegrityConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
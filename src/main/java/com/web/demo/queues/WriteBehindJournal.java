@@ -0,0 +1,153 @@
+package com.web.demo.queues;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.demo.dtos.EmployeeWrite;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only NDJSON log of accepted write-behind mutations. Every accepted write is appended (and
+ * forced to disk when {@code fsync} is on) before it is acknowledged; after a flush the file is
+ * atomically replaced by the writes that are still pending. Not thread-safe: callers hold the queue lock.
+ */
+@Slf4j
+public class WriteBehindJournal implements AutoCloseable {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private FileChannel channel;
+
+    private WriteBehindJournal(Path path, ObjectMapper objectMapper, boolean fsync) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+    }
+
+    public static WriteBehindJournal open(Path path, ObjectMapper objectMapper, boolean fsync) {
+        WriteBehindJournal journal = new WriteBehindJournal(path, objectMapper, fsync);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            journal.channel = openForAppend(path);
+            journal.terminateTornLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open write-behind journal " + path, e);
+        }
+        return journal;
+    }
+
+    /**
+     * Reads back every write in the journal, oldest first. A torn last line from a crash mid-append is skipped.
+     */
+    public List<EmployeeWrite> replay() {
+        List<EmployeeWrite> writes = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    writes.add(objectMapper.readValue(line, EmployeeWrite.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable write-behind journal line {} in {}: {}", lineNumber, path, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to replay write-behind journal " + path, e);
+        }
+        return writes;
+    }
+
+    public void append(EmployeeWrite write) {
+        try {
+            write(channel, write);
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to write-behind journal " + path, e);
+        }
+    }
+
+    /**
+     * Replaces the journal with {@code writes} via a temporary file and an atomic rename, so a crash
+     * leaves either the old or the new journal in place.
+     */
+    public void rewrite(Collection<EmployeeWrite> writes) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (EmployeeWrite write : writes) {
+                    write(out, write);
+                }
+                out.force(false);
+            }
+            channel.close();
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                channel = openForAppend(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to rewrite write-behind journal " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Unable to close write-behind journal {}", path, e);
+        }
+    }
+
+    /**
+     * Starts appends on a fresh line if the process died halfway through writing the last one.
+     */
+    private void terminateTornLine() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            in.read(last, size - 1);
+        }
+        if (last.get(0) != '\n') {
+            channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+        }
+    }
+
+    private void write(FileChannel out, EmployeeWrite write) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(write);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private static FileChannel openForAppend(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,47 @@
+package com.web.demo.repos;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out primary keys for new EMPLOYEE_DATA rows in blocks drawn from EMPLOYEE_DATA_SEQ (pooled-lo:
+ * each NEXTVAL reserves {@code [value, value + blockSize)}), so bulk inserts need one sequence call per
+ * block instead of a lookup per row. The sequence INCREMENT BY must equal {@code employee.import.id-block-size}.
+ */
+@Component
+public class EmployeeIdAllocator {
+
+    private final EntityManager entityManager;
+
+    @Value("${employee.import.id-sequence:EMPLOYEE_DATA_SEQ}")
+    private String sequenceName = "EMPLOYEE_DATA_SEQ";
+
+    @Value("${employee.import.id-block-size:50}")
+    private int blockSize = 50;
+
+    private int next;
+    private int remaining;
+
+    public EmployeeIdAllocator(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public synchronized int nextId() {
+        if (remaining == 0) {
+            next = fetchBlockStart();
+            remaining = blockSize;
+        }
+        remaining--;
+        return next++;
+    }
+
+    private int fetchBlockStart() {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        String sql = dialect.getSequenceSupport().getSequenceNextValString(sequenceName);
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).intValue();
+    }
+}
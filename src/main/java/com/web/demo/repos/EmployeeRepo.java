@@ -1,41 +1,185 @@
 package com.web.demo.repos;
 
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.ManagerLink;
+import com.web.demo.dtos.NameRow;
+import com.web.demo.dtos.OrgLink;
+import com.web.demo.dtos.ReplicaRow;
+import com.web.demo.dtos.SalaryStats;
+import com.web.demo.dtos.StatsRow;
 import com.web.demo.models.Employee;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepo extends JpaRepository<Employee,Integer> {
+
+    // Oracle rejects IN lists with more than 1000 expressions.
+    int MAX_IN_LIST_SIZE = 1000;
+
+    // Reads rows straight into DTOs: no managed entities, persistence-context entries or snapshots.
+    String SELECT_EMPLOYEE_DTO = "select new com.web.demo.dtos.EmployeeDTO(e.id, e.empId, e.empName, e.fatherName, "
+            + "e.gender, e.category, e.manager_id, e.designation, e.salary) from Employee e";
+
+    // Second-level cache region for cacheable lookups; sized under employee.second-level-cache.regions.
+    String QUERY_CACHE_REGION = "employee-queries";
+
+    // Read-only here because EmployeeServiceImpl calls the cached lookups outside a transaction.
+    @Transactional(readOnly = true)
     Optional<Employee> findAllByEmpId(int empId);
 
+    @Transactional(readOnly = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Employee> findByEmpId(int empId);
 
     Page<Employee> findAll(Pageable pageable);
 
-    @Query(value = "SELECT * FROM employees LIMIT 1000", nativeQuery = true)
+    List<Employee> findByIdGreaterThanOrderByIdAsc(int id, Limit limit);
+
+    /**
+     * Employees earning more than {@code minSalary}, filtered and ordered by the database. Returning a
+     * {@link Slice} skips the {@code COUNT(*)} a {@link Page} needs, and the page size is rendered as
+     * {@code FETCH FIRST n ROWS ONLY}; see employee_data_salary_ix in DbScripts.SQL.
+     */
+    Slice<Employee> findBySalaryGreaterThan(int minSalary, Pageable pageable);
+
+    @Query("select new com.web.demo.dtos.ManagerLink(e.id, e.manager_id) from Employee e where e.id > :afterId order by e.id")
+    List<ManagerLink> findManagerLinksAfter(@Param("afterId") int afterId, Limit limit);
+
+    @Query("select new com.web.demo.dtos.OrgLink(e.id, e.empId, e.manager_id, e.salary) from Employee e where e.id > :afterId order by e.id")
+    List<OrgLink> findOrgLinksAfter(@Param("afterId") int afterId, Limit limit);
+
+    @Query("select new com.web.demo.dtos.StatsRow(e.id, e.empId, e.designation, e.category, e.gender, e.manager_id, "
+            + "e.salary) from Employee e where e.id > :afterId order by e.id")
+    List<StatsRow> findStatsRowsAfter(@Param("afterId") int afterId, Limit limit);
+
+    @Query("select new com.web.demo.dtos.NameRow(e.id, e.empId, e.empName, e.fatherName) from Employee e "
+            + "where e.id > :afterId order by e.id")
+    List<NameRow> findNameRowsAfter(@Param("afterId") int afterId, Limit limit);
+
+    @Query("select new com.web.demo.dtos.ReplicaRow(e.id, e.empId, e.empName, e.fatherName, e.gender, e.category, "
+            + "e.manager_id, e.salary, e.designation, e.version) from Employee e where e.id > :afterId order by e.id")
+    List<ReplicaRow> findReplicaRowsAfter(@Param("afterId") int afterId, Limit limit);
+
+    // Salary aggregates per group, one GROUP BY per column, for /emp/stats before its index is ready.
+    @Query("select new com.web.demo.dtos.SalaryStats(e.designation, count(e), sum(e.salary), min(e.salary), "
+            + "max(e.salary)) from Employee e group by e.designation")
+    List<SalaryStats> findSalaryStatsByDesignation();
+
+    @Query("select new com.web.demo.dtos.SalaryStats(e.category, count(e), sum(e.salary), min(e.salary), "
+            + "max(e.salary)) from Employee e group by e.category")
+    List<SalaryStats> findSalaryStatsByCategory();
+
+    @Query("select new com.web.demo.dtos.SalaryStats(e.gender, count(e), sum(e.salary), min(e.salary), "
+            + "max(e.salary)) from Employee e group by e.gender")
+    List<SalaryStats> findSalaryStatsByGender();
+
+    @Query("select new com.web.demo.dtos.SalaryStats(cast(e.manager_id as String), count(e), sum(e.salary), "
+            + "min(e.salary), max(e.salary)) from Employee e group by e.manager_id")
+    List<SalaryStats> findSalaryStatsByManager();
+
+    List<Employee> findAllByEmpIdIn(Collection<Integer> empIds);
+
+    @Query("select e.empId from Employee e where e.empId in :empIds")
+    List<Integer> findExistingEmpIds(@Param("empIds") Collection<Integer> empIds);
+
+    @Query("select e.id from Employee e where e.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("select e.id from Employee e where e.empId in :empIds")
+    List<Integer> findIdsByEmpIdIn(@Param("empIds") Collection<Integer> empIds);
+
+    @Query("select e.id from Employee e where e.id between :fromId and :toId order by e.id")
+    List<Integer> findIdsBetween(@Param("fromId") int fromId, @Param("toId") int toId, Limit limit);
+
+    /**
+     * One DELETE for the listed rows, where {@code deleteById}/{@code deleteAllById} would load and remove
+     * each entity in turn. Hibernate evicts the Employee cache region and the query cache itself.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteRowsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Unlike JpaRepository.deleteAll(), never reads the table into the persistence context.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e")
+    int deleteAllRows();
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_EMPLOYEE_DTO + " order by e.id")
+    List<EmployeeDTO> findAllDtos();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Transactional(readOnly = true)
+    @Query(SELECT_EMPLOYEE_DTO + " where e.manager_id = :managerId")
+    List<EmployeeDTO> findDtosByManagerId(@Param("managerId") int managerId);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_EMPLOYEE_DTO + " where e.id in :ids")
+    List<EmployeeDTO> findDtosByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_EMPLOYEE_DTO + " where e.empId in :empIds")
+    List<EmployeeDTO> findDtosByEmpIdIn(@Param("empIds") Collection<Integer> empIds);
+
+    @Query(value = "SELECT * FROM EMPLOYEE_DATA ORDER BY ID FETCH FIRST 1000 ROWS ONLY", nativeQuery = true)
     List<Employee> findTop1000Employees();
 
+    // Naming the query space limits cache invalidation to EMPLOYEE_DATA instead of every region.
     @Transactional
-    @Modifying
-    @Query(value="update Employee u set u.emp_name = :empName where u.emp_id = :empId", nativeQuery = true)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "EMPLOYEE_DATA"))
+    @Query(value="update EMPLOYEE_DATA u set u.emp_name = :empName where u.emp_id = :empId", nativeQuery = true)
     void updateEmpParamNative(@Param("empName") String empName, @Param("empId") Integer empId);
 
-    @Modifying
+    /**
+     * Applies the non-null fields and bumps the version in one statement, only if the row is still at
+     * {@code version}; returns 0 when the row is missing or was changed concurrently.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee u set u.empName = coalesce(:empName, u.empName), "
+            + "u.fatherName = coalesce(:fatherName, u.fatherName), "
+            + "u.designation = coalesce(:designation, u.designation), "
+            + "u.salary = coalesce(:salary, u.salary), "
+            + "u.version = u.version + 1 "
+            + "where u.empId = :empId and u.version = :version")
+    int patchEmployee(@Param("empId") int empId,
+                      @Param("version") int version,
+                      @Param("empName") String empName,
+                      @Param("fatherName") String fatherName,
+                      @Param("designation") String designation,
+                      @Param("salary") Integer salary);
+
+    boolean existsByEmpId(int empId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("update Employee u set u.empName = :empName, u.fatherName = :fatherName where u.empId = :empId")
     void updateEmployeeParam(@Param("empName") String empName,
                              @Param("fatherName") String fatherName,
                              @Param("empId") Integer empId);
 
-    @Modifying
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("update Employee u set u.empName = ?1, u.fatherName = ?2 where u.empId = ?3")
     void updateEmployee(String empName, String fatherName, Integer empId);
 }
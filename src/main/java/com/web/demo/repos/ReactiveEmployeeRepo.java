@@ -0,0 +1,41 @@
+package com.web.demo.repos;
+
+import com.web.demo.models.Employee;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeRepo} for the reactive profile. Employee carries JPA mapping
+ * only, so every query names EMPLOYEE_DATA and its columns itself; rows are read back by column name.
+ * Only the methods declared here are meant to be called.
+ */
+@Repository
+public interface ReactiveEmployeeRepo extends R2dbcRepository<Employee, Integer> {
+
+    String SELECT_EMPLOYEE = "SELECT ID, EMP_ID, EMP_NAME, FATHER_NAME, GENDER, CATEGORY, MANAGER_ID, SALARY, "
+            + "DESIGNATION, VERSION FROM EMPLOYEE_DATA";
+
+    @Query(SELECT_EMPLOYEE + " WHERE EMP_ID = :empId")
+    Mono<Employee> findByEmpId(@Param("empId") int empId);
+
+    /**
+     * One keyset page, as {@link EmployeeRepo#findByIdGreaterThanOrderByIdAsc} reads it.
+     */
+    @Query(SELECT_EMPLOYEE + " WHERE ID > :afterId ORDER BY ID FETCH FIRST :limit ROWS ONLY")
+    Flux<Employee> findPageAfter(@Param("afterId") int afterId, @Param("limit") int limit);
+
+    // Read as Employee: as a projection, EmployeeDTO's manager_id would be taken for a path into a manager.
+    @Query(SELECT_EMPLOYEE + " WHERE MANAGER_ID = :managerId")
+    Flux<Employee> findByManagerId(@Param("managerId") int managerId);
+
+    @Modifying
+    @Query("INSERT INTO EMPLOYEE_DATA (ID, EMP_ID, EMP_NAME, FATHER_NAME, GENDER, CATEGORY, MANAGER_ID, SALARY, "
+            + "DESIGNATION, VERSION) VALUES (:#{#e.id}, :#{#e.empId}, :#{#e.empName}, :#{#e.fatherName}, "
+            + ":#{#e.gender}, :#{#e.category}, :#{#e.manager_id}, :#{#e.salary}, :#{#e.designation}, 0)")
+    Mono<Integer> insert(@Param("e") Employee employee);
+}
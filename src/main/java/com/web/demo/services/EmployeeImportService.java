@@ -0,0 +1,18 @@
+package com.web.demo.services;
+
+import com.web.demo.dtos.ImportReport;
+
+import java.io.InputStream;
+
+public interface EmployeeImportService {
+
+    ImportReport importFixture();
+
+    ImportReport importSalaryUpdates(InputStream input);
+
+    ImportReport importNewEmployees(InputStream input, Format format);
+
+    enum Format {
+        NDJSON, CSV
+    }
+}
@@ -0,0 +1,310 @@
+package com.web.demo.services;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.ImportReport;
+import com.web.demo.dtos.ImportReport.ChunkReport;
+import com.web.demo.dtos.ImportReport.LineError;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeIdAllocator;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.utils.EmployeeUtils;
+import jakarta.persistence.EntityManager;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams employee rows and applies them in chunks: one set-based lookup per chunk, JDBC-batched
+ * statements on flush, and a commit every {@code commit-interval} chunks. Memory is bounded by the
+ * chunk size, not the input size.
+ */
+@Slf4j
+@Setter
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private final EmployeeRepo employeeRepo;
+    private final EmployeeIdAllocator idAllocator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Value("${employee.import.fixture:classpath:EmployeeData.json}")
+    private Resource fixture;
+
+    @Value("${employee.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${employee.import.commit-interval:4}")
+    private int commitInterval = 4;
+
+    @Value("${employee.import.max-line-errors:1000}")
+    private int maxLineErrors = 1000;
+
+    public EmployeeImportServiceImpl(EmployeeRepo employeeRepo, EmployeeIdAllocator idAllocator,
+                                     EntityManager entityManager, TransactionTemplate transactionTemplate,
+                                     ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper) {
+        this.employeeRepo = employeeRepo;
+        this.idAllocator = idAllocator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportReport importFixture() {
+        try (InputStream input = fixture.getInputStream()) {
+            return importSalaryUpdates(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + fixture.getDescription(), e);
+        }
+    }
+
+    @Override
+    public ImportReport importSalaryUpdates(InputStream input) {
+        Batcher<EmployeeDTO> batcher = new Batcher<>((chunk, ignored) -> applySalaryChunk(chunk));
+        try (MappingIterator<EmployeeDTO> rows = objectMapper.readerFor(EmployeeDTO.class).readValues(input)) {
+            while (rows.hasNextValue()) {
+                batcher.add(rows.nextValue());
+            }
+        } catch (IOException e) {
+            batcher.report.getErrors().add("Input stopped after row " + batcher.report.getRowsRead() + ": " + e.getMessage());
+        }
+        return batcher.finish();
+    }
+
+    @Override
+    public ImportReport importNewEmployees(InputStream input, Format format) {
+        Batcher<BulkRow> batcher = new Batcher<>(this::insertChunk);
+        try {
+            if (format == Format.CSV) {
+                readCsv(input, batcher);
+            } else {
+                readNdjson(input, batcher);
+            }
+        } catch (IOException e) {
+            batcher.report.getErrors().add("Input stopped after row " + batcher.report.getRowsRead() + ": " + e.getMessage());
+        }
+        return batcher.finish();
+    }
+
+    private void readNdjson(InputStream input, Batcher<BulkRow> batcher) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                acceptRow(objectMapper.readValue(line, Employee.class), lineNumber, batcher);
+            } catch (IOException | IllegalArgumentException e) {
+                batcher.rejectUnread(lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    private void readCsv(InputStream input, Batcher<BulkRow> batcher) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        // Rows are read as strings so a bad value only rejects its own line.
+        try (MappingIterator<Map<String, String>> rows = csvMapper.readerFor(Map.class).with(schema).readValues(input)) {
+            while (rows.hasNextValue()) {
+                Map<String, String> row = rows.nextValue();
+                long lineNumber = rows.getCurrentLocation().getLineNr() - 1;
+                try {
+                    acceptRow(objectMapper.convertValue(row, Employee.class), lineNumber, batcher);
+                } catch (IllegalArgumentException e) {
+                    batcher.rejectUnread(lineNumber, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void acceptRow(Employee employee, long lineNumber, Batcher<BulkRow> batcher) {
+        EmployeeUtils.validateEmployee(employee);
+        batcher.add(new BulkRow(lineNumber, employee));
+    }
+
+    private int applySalaryChunk(List<EmployeeDTO> chunk) {
+        Map<Integer, EmployeeDTO> byEmpId = new LinkedHashMap<>();
+        chunk.forEach(dto -> byEmpId.put(dto.getEmpId(), dto));
+        List<Employee> employees = employeeRepo.findAllByEmpIdIn(byEmpId.keySet());
+        for (Employee employee : employees) {
+            EmployeeDTO dto = byEmpId.get(employee.getEmpId());
+            employee.setSalary(dto.getSalary());
+            employee.setDesignation(dto.getDesignation());
+        }
+        // Dirty checking turns the mutations into one JDBC batch; clearing keeps the context chunk-sized.
+        entityManager.flush();
+        entityManager.clear();
+        eventPublisher.publishEvent(EmployeeChangedEvent.saved(employees));
+        return employees.size();
+    }
+
+    private int insertChunk(List<BulkRow> chunk, Batcher<BulkRow> batcher) {
+        Set<Integer> empIds = new HashSet<>();
+        Set<Integer> suppliedIds = new HashSet<>();
+        for (BulkRow row : chunk) {
+            empIds.add(row.employee().getEmpId());
+            if (row.employee().getId() != 0) {
+                suppliedIds.add(row.employee().getId());
+            }
+        }
+        Set<Integer> takenEmpIds = new HashSet<>(employeeRepo.findExistingEmpIds(empIds));
+        Set<Integer> takenIds = suppliedIds.isEmpty() ? new HashSet<>()
+                : new HashSet<>(employeeRepo.findExistingIds(suppliedIds));
+
+        List<Employee> inserted = new ArrayList<>(chunk.size());
+        for (BulkRow row : chunk) {
+            Employee employee = row.employee();
+            if (!takenEmpIds.add(employee.getEmpId())) {
+                batcher.reject(row.line(), "emp_id " + employee.getEmpId() + " already exists");
+                continue;
+            }
+            if (employee.getId() == 0) {
+                employee.setId(idAllocator.nextId());
+            } else if (!takenIds.add(employee.getId())) {
+                batcher.reject(row.line(), "id " + employee.getId() + " already exists");
+                continue;
+            }
+            // persist() rather than save(): with an assigned id, save() merges and SELECTs first.
+            entityManager.persist(employee);
+            inserted.add(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        eventPublisher.publishEvent(EmployeeChangedEvent.saved(inserted));
+        return inserted.size();
+    }
+
+    private record BulkRow(long line, Employee employee) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        int write(List<T> chunk, Batcher<T> batcher);
+    }
+
+    /**
+     * Groups rows into chunks, commits {@code commitInterval} chunks per transaction and fills the report.
+     */
+    private final class Batcher<T> {
+
+        private final ImportReport report = new ImportReport();
+        private final ChunkWriter<T> writer;
+        private final int rowsPerChunk = Math.min(chunkSize, EmployeeRepo.MAX_IN_LIST_SIZE);
+        private final List<List<T>> pending = new ArrayList<>(commitInterval);
+        private final long start = System.nanoTime();
+        private List<T> chunk = new ArrayList<>(rowsPerChunk);
+
+        private Batcher(ChunkWriter<T> writer) {
+            this.writer = writer;
+        }
+
+        private void add(T row) {
+            report.setRowsRead(report.getRowsRead() + 1);
+            chunk.add(row);
+            if (chunk.size() == rowsPerChunk) {
+                pending.add(chunk);
+                chunk = new ArrayList<>(rowsPerChunk);
+                if (pending.size() == commitInterval) {
+                    commitPending();
+                }
+            }
+        }
+
+        /**
+         * Rejects a line that never made it into a chunk, e.g. because it did not parse or validate.
+         */
+        private void rejectUnread(long line, String message) {
+            report.setRowsRead(report.getRowsRead() + 1);
+            reject(line, message);
+        }
+
+        private void reject(long line, String message) {
+            report.setRowsFailed(report.getRowsFailed() + 1);
+            if (report.getLineErrors().size() < maxLineErrors) {
+                report.getLineErrors().add(new LineError(line, message));
+            }
+        }
+
+        private ImportReport finish() {
+            if (!chunk.isEmpty()) {
+                pending.add(chunk);
+            }
+            if (!pending.isEmpty()) {
+                commitPending();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            report.setRowsPerSecond(elapsedNanos == 0 ? 0 : report.getRowsRead() * 1e9 / elapsedNanos);
+            log.info("Employee import finished: {}", report);
+            return report;
+        }
+
+        private void commitPending() {
+            List<ChunkReport> chunkReports = new ArrayList<>(pending.size());
+            int firstChunk = report.getChunks().size() + 1;
+            int lineErrorsBefore = report.getLineErrors().size();
+            long failedBefore = report.getRowsFailed();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = 0; i < pending.size(); i++) {
+                        ChunkReport chunkReport = new ChunkReport(firstChunk + i, pending.get(i).size());
+                        long chunkStart = System.nanoTime();
+                        chunkReport.setWritten(writer.write(pending.get(i), this));
+                        chunkReport.setLatencyMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStart));
+                        chunkReports.add(chunkReport);
+                    }
+                });
+                long rejectedInTransaction = report.getRowsFailed() - failedBefore;
+                for (ChunkReport chunkReport : chunkReports) {
+                    report.setRowsWritten(report.getRowsWritten() + chunkReport.getWritten());
+                }
+                report.setRowsSkipped(report.getRowsSkipped() + chunkReports.stream()
+                        .mapToInt(c -> c.getRows() - c.getWritten()).sum() - rejectedInTransaction);
+            } catch (RuntimeException ex) {
+                log.warn("Employee import chunks {}-{} rolled back", firstChunk, firstChunk + pending.size() - 1, ex);
+                // Line-level rejections from the rolled back chunks are superseded by the chunk failure.
+                report.getLineErrors().subList(lineErrorsBefore, report.getLineErrors().size()).clear();
+                report.setRowsFailed(failedBefore);
+                chunkReports.clear();
+                for (int i = 0; i < pending.size(); i++) {
+                    ChunkReport chunkReport = new ChunkReport(firstChunk + i, pending.get(i).size());
+                    chunkReport.setError(ex.getMessage());
+                    chunkReports.add(chunkReport);
+                    report.setRowsFailed(report.getRowsFailed() + chunkReport.getRows());
+                }
+            }
+            report.getChunks().addAll(chunkReports);
+            pending.clear();
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.web.demo.services;
 
 import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.EmployeePage;
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.ImportReport;
+import com.web.demo.dtos.OrgTreeNode;
+import com.web.demo.dtos.SalaryStats;
 import com.web.demo.models.Employee;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     List<Employee> findAll();
 
+    EmployeePage findPage(String cursor, int size);
+
+    void streamAll(Consumer<List<Employee>> pageConsumer);
+
     List<Employee> getTop1000Employees();
 
+    List<Employee> getTopEmployees(int minSalary, int limit);
+
     Optional<Employee> findByEmpId(int empId);
 
     Employee createEmployee(Employee employee);
@@ -23,13 +36,44 @@ public interface EmployeeService {
 
     void deleteAll();
 
+    /**
+     * Deletes the employees with these empIds in set-based statements; returns how many rows went.
+     */
+    int deleteByEmpIds(Collection<Integer> empIds);
+
+    /**
+     * Deletes the rows whose primary key lies in {@code fromId..toId}, both inclusive; returns how many went.
+     */
+    int deleteIdRange(int fromId, int toId);
+
     Employee updateEmp(int empId, Employee employee);
 
+    void patchEmployee(int empId, EmployeePatch patch);
+
     List<EmployeeDTO> updateFindAll();
 
-    List<EmployeeDTO> readJson();
+    ImportReport readJson();
 
     List<EmployeeDTO> findAllUnderManager(int managerId);
 
+    /**
+     * Changes whenever the result of a multi-row read such as {@link #findAllUnderManager} may have
+     * changed; answered from memory.
+     */
+    String dataVersion();
+
+    OrgTreeNode getOrgTree(int managerId, int depth);
+
     String helloWorld();
+
+    /**
+     * Headcount and salary aggregates per value of {@code groupBy}.
+     */
+    List<SalaryStats> salaryStats(SalaryStats.GroupBy groupBy);
+
+    /**
+     * Employees whose empName or fatherName words start with, or if {@code fuzzy} nearly match, every
+     * word of {@code query}; best matches first.
+     */
+    List<EmployeeDTO> searchByName(String query, boolean fuzzy, int limit);
 }
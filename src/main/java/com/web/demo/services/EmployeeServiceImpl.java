@@ -1,154 +1,392 @@
 package com.web.demo.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.base.Charsets;
-import com.google.common.io.Resources;
+import com.web.demo.caches.EmployeeCache;
 import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.EmployeePage;
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.ImportReport;
+import com.web.demo.dtos.OrgTreeNode;
+import com.web.demo.dtos.SalaryStats;
+import com.web.demo.dtos.SalaryStats.GroupBy;
+import com.web.demo.events.EmployeeChangedEvent;
 import com.web.demo.exceptions.EmployeeNotFoundException;
+import com.web.demo.exceptions.EmployeeVersionConflictException;
+import com.web.demo.exceptions.IndexNotReadyException;
+import com.web.demo.indexes.EmployeeReplica;
+import com.web.demo.indexes.ManagerIndex;
+import com.web.demo.indexes.NameSearchIndex;
+import com.web.demo.indexes.OrgTreeIndex;
+import com.web.demo.indexes.SalaryStatsIndex;
 import com.web.demo.models.Employee;
 import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.utils.EmployeeUtils;
+import com.web.demo.utils.IntHashSet;
 import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Setter
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
-    private final EmployeeRepo employeeRepo;
+    private static final int MAX_PAGE_SIZE = 5000;
+    private static final int MAX_TREE_DEPTH = 20;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final Sort TOP_EMPLOYEES_ORDER = Sort.by(Sort.Order.desc("salary"), Sort.Order.asc("id"));
+
+    private static final List<String> DESIGNATIONS = List.of(
+            "Associate Consultant",
+            "Software Engineer",
+            "Senior Software Engineer",
+            "Software Developer",
+            "Senior Software Developer",
+            "Technical Lead",
+            "Senior Technical Lead",
+            "Architect",
+            "Senior Architect",
+            "Associate Manager",
+            "Senior Manager",
+            "Group Manager");
 
-    public EmployeeServiceImpl(EmployeeRepo employeeRepo) {
+    private final EmployeeRepo employeeRepo;
+    private final ManagerIndex managerIndex;
+    private final OrgTreeIndex orgTreeIndex;
+    private final SalaryStatsIndex salaryStatsIndex;
+    private final NameSearchIndex nameSearchIndex;
+    private final EmployeeReplica employeeReplica;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeCache employeeCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${employee.stream.page-size:1000}")
+    private int streamPageSize = 1000;
+
+    @Value("${employee.top.min-salary:40000}")
+    private int topMinSalary = 40000;
+
+    @Value("${employee.top.limit:1000}")
+    private int topLimit = 1000;
+
+    @Value("${employee.update.parallel-threshold:100000}")
+    private int parallelThreshold = 100000;
+
+    public EmployeeServiceImpl(EmployeeRepo employeeRepo, ManagerIndex managerIndex, OrgTreeIndex orgTreeIndex,
+                               SalaryStatsIndex salaryStatsIndex, NameSearchIndex nameSearchIndex,
+                               EmployeeReplica employeeReplica, EmployeeImportService employeeImportService, EmployeeCache employeeCache,
+                               ApplicationEventPublisher eventPublisher) {
         this.employeeRepo = employeeRepo;
+        this.managerIndex = managerIndex;
+        this.orgTreeIndex = orgTreeIndex;
+        this.salaryStatsIndex = salaryStatsIndex;
+        this.nameSearchIndex = nameSearchIndex;
+        this.employeeReplica = employeeReplica;
+        this.employeeImportService = employeeImportService;
+        this.employeeCache = employeeCache;
+        this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * From {@link EmployeeReplica} once it is built; otherwise {@code findAll} runs in the repository's
+     * own read-only transaction.
+     */
     @Override
     public List<Employee> findAll() {
+        if (employeeReplica.isReady()) {
+            return employeeReplica.findAll();
+        }
         return employeeRepo.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public EmployeePage findPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        int afterId = EmployeeUtils.decodeCursor(cursor);
+        List<Employee> page = employeeRepo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size));
+        String nextCursor = page.size() < size ? null
+                : EmployeeUtils.encodeCursor(page.get(page.size() - 1).getId());
+        return new EmployeePage(page, nextCursor);
+    }
+
+    /**
+     * Walks the table in keyset pages ordered by ID so only one page is ever held in memory.
+     */
+    @Override
+    public void streamAll(Consumer<List<Employee>> pageConsumer) {
+        int afterId = Integer.MIN_VALUE;
+        List<Employee> page;
+        do {
+            page = employeeRepo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(streamPageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            pageConsumer.accept(page);
+            afterId = page.get(page.size() - 1).getId();
+        } while (page.size() == streamPageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Employee> getTop1000Employees() {
-        Pageable pageable = PageRequest.of(0, 1000);  // Page 0, size 1000
-        List<Employee> employeeList = employeeRepo.findAll(pageable).getContent();
-        employeeList = filterEmployees(employeeList);
-        return employeeList;
+        return getTopEmployees(topMinSalary, topLimit);
     }
 
-    private List<Employee> filterEmployees(List<Employee> employeeList) {
-        return Optional.ofNullable(employeeList)
-                .orElse(Collections.emptyList())
-                .stream()
-                .filter(f -> f.getSalary() > 40000)
-                .toList();
+    /**
+     * Highest-paid employees above the threshold, best paid first; the filter, order and row limit all
+     * run in the database.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Employee> getTopEmployees(int minSalary, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Pageable pageable = PageRequest.of(0, limit, TOP_EMPLOYEES_ORDER);
+        return employeeRepo.findBySalaryGreaterThan(minSalary, pageable).getContent();
     }
 
     public List<Employee> getTop1000EmployeesTmp() {
         return employeeRepo.findTop1000Employees();
     }
 
+    /**
+     * Not transactional, so a replica or cache hit needs no connection; on a miss the repository query
+     * runs in its own read-only transaction.
+     */
     @Override
     public Optional<Employee> findByEmpId(int empId) {
-        return employeeRepo.findAllByEmpId(empId);
+        if (employeeReplica.isReady()) {
+            return employeeReplica.findByEmpId(empId);
+        }
+        return employeeCache.get(empId, employeeRepo::findAllByEmpId);
     }
 
     @Override
     public Employee getEmployeeById(int empId) {
-        return employeeRepo.findByEmpId(empId)
-                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + empId));
+        Optional<Employee> employee = employeeReplica.isReady() ? employeeReplica.findByEmpId(empId)
+                : employeeCache.get(empId, employeeRepo::findByEmpId);
+        return employee.orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + empId));
     }
 
     @Override
     public Employee createEmployee(Employee employee) {
         validateEmployee(employee); // Private method call
-        return employeeRepo.save(employee);
+        Employee saved = employeeRepo.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.saved(saved));
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Employee> findById(int empId) {
         return employeeRepo.findByEmpId(empId);
     }
 
     @Override
+    @Transactional
     public void deleteById(int empId) {
-        employeeRepo.deleteById(empId);
+        if (employeeRepo.deleteRowsByIdIn(List.of(empId)) > 0) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(empId));
+        }
     }
 
     @Override
+    @Transactional
     public void deleteAll() {
-        employeeRepo.deleteAll();
+        employeeRepo.deleteAllRows();
+        eventPublisher.publishEvent(EmployeeChangedEvent.cleared());
+    }
+
+    /**
+     * The rows are looked up and deleted by primary key, so the published ids are exactly the deleted ones.
+     */
+    @Override
+    @Transactional
+    public int deleteByEmpIds(Collection<Integer> empIds) {
+        return deleteRows(inChunks(empIds.stream().distinct().toList(), employeeRepo::findIdsByEmpIdIn));
+    }
+
+    /**
+     * Deletes the range a page of ids at a time, so no statement outgrows an IN list; each page is read
+     * from {@code fromId} again, since the previous one is gone by then.
+     */
+    @Override
+    @Transactional
+    public int deleteIdRange(int fromId, int toId) {
+        if (fromId > toId) {
+            throw new IllegalArgumentException("fromId must not be greater than toId");
+        }
+        int deleted = 0;
+        List<Integer> ids;
+        do {
+            ids = employeeRepo.findIdsBetween(fromId, toId, Limit.of(EmployeeRepo.MAX_IN_LIST_SIZE));
+            deleted += deleteRows(ids);
+        } while (ids.size() == EmployeeRepo.MAX_IN_LIST_SIZE);
+        return deleted;
     }
 
+    private int deleteRows(List<Integer> ids) {
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += EmployeeRepo.MAX_IN_LIST_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + EmployeeRepo.MAX_IN_LIST_SIZE, ids.size()));
+            deleted += employeeRepo.deleteRowsByIdIn(chunk);
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(chunk));
+        }
+        return deleted;
+    }
+
+    /**
+     * Load and save in one transaction, so the UPDATE goes out at commit against the managed row without
+     * a second SELECT; a concurrent change fails on the version check instead of being overwritten.
+     */
     @Override
+    @Transactional
     public Employee updateEmp(int empId, Employee employee) {
         Optional<Employee> emp = employeeRepo.findByEmpId(empId);
+        Employee saved;
         if (emp.isPresent()) {
             Employee _emp = emp.get();
             _emp.setEmpName(employee.getEmpName());
-            return employeeRepo.save(_emp);
+            saved = employeeRepo.save(_emp);
         } else {
-            return employeeRepo.save(employee);
+            saved = employeeRepo.save(employee);
+        }
+        if (saved != null) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.saved(saved));
         }
+        return saved;
     }
 
     @Override
-    public List<EmployeeDTO> updateFindAll() {
-        List<Employee> allEmp = employeeRepo.findAll();
-        List<Integer> managerIds = getMangerIds(allEmp);
-        List<String> designations = getDesignations();
+    @Transactional
+    public void patchEmployee(int empId, EmployeePatch patch) {
+        if (patch.getVersion() == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        int updated = employeeRepo.patchEmployee(empId, patch.getVersion(), patch.getEmpName(),
+                patch.getFatherName(), patch.getDesignation(), patch.getSalary());
+        if (updated == 0) {
+            // Only the failure path pays for a second query, to tell a missing row from a stale version.
+            if (!employeeRepo.existsByEmpId(empId)) {
+                throw new EmployeeNotFoundException("Employee not found with id: " + empId);
+            }
+            throw new EmployeeVersionConflictException("Employee " + empId + " is no longer at version "
+                    + patch.getVersion());
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.patched(empId, patch));
+    }
 
-        return allEmp.stream()
-                .map(m -> {
-                    EmployeeDTO dto = convertToDto(m);
-                    if (!managerIds.contains(dto.getEmpId())) {
-                        int index = getRandomNumber(0, 8);
-                        dto.setDesignation(designations.get(index));
-                        int salary = getRandomNumber(10000, 70000);
-                        dto.setSalary(salary);
-                    } else {
-                        dto.setDesignation(designations.get(10));
-                        int salary = getRandomNumber(80000, 99000);
-                        dto.setSalary(salary);
-                    }
-                    return dto;
-                }).toList();
-    }
-
-    @Override
-    public List<EmployeeDTO> readJson() {
-        List<EmployeeDTO> readEmpDto = null;
-        try {
-            String fixture = Resources.toString(Resources.getResource("EmployeeData.json"), Charsets.UTF_8);
-            ObjectMapper objectMapper = new ObjectMapper();
-            readEmpDto = objectMapper.readValue(fixture,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeDTO.class));
-
-            readEmpDto.forEach(f -> {
-                Optional<Employee> empOpt = employeeRepo.findByEmpId(f.getEmpId());
-                if (empOpt.isPresent()) {
-                    System.out.println(f.getEmpId());
-                    Employee emp = empOpt.get();
-                    //if(f.getSalary() != null){
-                    emp.setSalary(f.getSalary());
-                    //}
-                    emp.setDesignation(f.getDesignation());
-                    employeeRepo.save(emp);
-                }
-            });
+    /**
+     * Reassigns a random designation and salary band to every employee: managers get the senior band,
+     * everyone else a random junior one. Large populations are mapped on the common fork-join pool.
+     */
+    @Override
+    public List<EmployeeDTO> updateFindAll() {
+        List<EmployeeDTO> allEmp = employeeReplica.isReady() ? employeeReplica.findAllDtos() : employeeRepo.findAllDtos();
+        // Built once and only read afterwards, so it can be shared by the parallel workers.
+        IntHashSet managerIds = getMangerIds(allEmp);
+        Stream<EmployeeDTO> employees = allEmp.size() >= parallelThreshold ? allEmp.parallelStream() : allEmp.stream();
+        employees.forEach(dto -> reassignDesignation(dto, managerIds));
+        return allEmp;
+    }
 
-        } catch (Exception ex) {
-            ex.printStackTrace();
+    void reassignDesignation(EmployeeDTO dto, IntHashSet managerIds) {
+        if (!managerIds.contains(dto.getEmpId())) {
+            int index = getRandomNumber(0, 8);
+            dto.setDesignation(DESIGNATIONS.get(index));
+            int salary = getRandomNumber(10000, 70000);
+            dto.setSalary(salary);
+        } else {
+            dto.setDesignation(DESIGNATIONS.get(10));
+            int salary = getRandomNumber(80000, 99000);
+            dto.setSalary(salary);
         }
-        return readEmpDto;
     }
 
+    @Override
+    public ImportReport readJson() {
+        return employeeImportService.importFixture();
+    }
+
+    /**
+     * Report ids come from {@link ManagerIndex} and rows from {@link EmployeeReplica} or an IN query,
+     * whichever is ready; the replica is scanned, or the database queried, when the manager index is not.
+     * Each query runs in its own read-only transaction.
+     */
     @Override
     public List<EmployeeDTO> findAllUnderManager(int managerId) {
-        List<Employee> allEmp = employeeRepo.findAll();
-        return getEmployeesUnderManager(managerId, allEmp);
+        if (!managerIndex.isReady()) {
+            return employeeReplica.isReady() ? employeeReplica.findByManagerId(managerId)
+                    : employeeRepo.findDtosByManagerId(managerId);
+        }
+        int[] reportIds = managerIndex.reportsOf(managerId);
+        if (reportIds.length == 0) {
+            return new ArrayList<>();
+        }
+        if (employeeReplica.isReady()) {
+            return getEmployeesUnderManager(managerId, employeeReplica.findDtosByIds(reportIds));
+        }
+        List<Integer> ids = Arrays.stream(reportIds).boxed().toList();
+        return getEmployeesUnderManager(managerId, inChunks(ids, employeeRepo::findDtosByIdIn));
+    }
+
+    @Override
+    public String dataVersion() {
+        return employeeCache.dataVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrgTreeNode getOrgTree(int managerId, int depth) {
+        if (depth < 0 || depth > MAX_TREE_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 0 and " + MAX_TREE_DEPTH);
+        }
+        if (!orgTreeIndex.isReady()) {
+            throw new IndexNotReadyException("Org tree index is still building, retry shortly");
+        }
+        OrgTreeNode root = orgTreeIndex.subtree(managerId, depth);
+        if (root == null) {
+            throw new EmployeeNotFoundException("Manager not found with id: " + managerId);
+        }
+        List<OrgTreeNode> nodes = new ArrayList<>();
+        Deque<OrgTreeNode> pending = new ArrayDeque<>(List.of(root));
+        while (!pending.isEmpty()) {
+            OrgTreeNode node = pending.pop();
+            nodes.add(node);
+            pending.addAll(node.getReports());
+        }
+        Map<Integer, EmployeeDTO> byEmpId = new HashMap<>();
+        inChunks(nodes.stream().map(OrgTreeNode::getEmpId).toList(), employeeRepo::findDtosByEmpIdIn)
+                .forEach(dto -> byEmpId.put(dto.getEmpId(), dto));
+        nodes.forEach(node -> node.setEmployee(byEmpId.get(node.getEmpId())));
+        return root;
+    }
+
+    /**
+     * Runs an IN-list query in slices that stay under Oracle's expression limit.
+     */
+    private static <T> List<T> inChunks(List<Integer> keys, Function<List<Integer>, List<T>> query) {
+        List<T> result = new ArrayList<>(keys.size());
+        for (int from = 0; from < keys.size(); from += EmployeeRepo.MAX_IN_LIST_SIZE) {
+            result.addAll(query.apply(keys.subList(from, Math.min(from + EmployeeRepo.MAX_IN_LIST_SIZE, keys.size()))));
+        }
+        return result;
     }
 
     @Override
@@ -156,10 +394,55 @@ public class EmployeeServiceImpl implements EmployeeService {
         return "Hello World";
     }
 
-    private List<EmployeeDTO> getEmployeesUnderManager(int managerId, List<Employee> allEmp) {
+    /**
+     * Served from {@link SalaryStatsIndex} once it is built, else by one GROUP BY. Groups are ordered by
+     * value, employees without one first.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalaryStats> salaryStats(GroupBy groupBy) {
+        List<SalaryStats> stats;
+        if (salaryStatsIndex.isReady()) {
+            stats = new ArrayList<>(salaryStatsIndex.stats(groupBy));
+        } else {
+            stats = new ArrayList<>(switch (groupBy) {
+                case DESIGNATION -> employeeRepo.findSalaryStatsByDesignation();
+                case CATEGORY -> employeeRepo.findSalaryStatsByCategory();
+                case GENDER -> employeeRepo.findSalaryStatsByGender();
+                case MANAGER_ID -> employeeRepo.findSalaryStatsByManager();
+            });
+        }
+        Comparator<String> byValue = groupBy == GroupBy.MANAGER_ID
+                ? Comparator.comparingInt(Integer::parseInt) : Comparator.naturalOrder();
+        stats.sort(Comparator.comparing(SalaryStats::getGroup, Comparator.nullsFirst(byValue)));
+        return stats;
+    }
+
+    /**
+     * Ranked by {@link NameSearchIndex}; the rows come from {@link EmployeeReplica} when it is built, else
+     * from one IN query put back into rank order.
+     */
+    @Override
+    public List<EmployeeDTO> searchByName(String query, boolean fuzzy, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        if (!nameSearchIndex.isReady()) {
+            throw new IndexNotReadyException("Name search index is still building, retry shortly");
+        }
+        int[] empIds = nameSearchIndex.search(query, fuzzy, limit);
+        if (employeeReplica.isReady()) {
+            return employeeReplica.findDtosByEmpIds(empIds);
+        }
+        Map<Integer, EmployeeDTO> byEmpId = new HashMap<>();
+        employeeRepo.findDtosByEmpIdIn(Arrays.stream(empIds).boxed().toList())
+                .forEach(dto -> byEmpId.put(dto.getEmpId(), dto));
+        return Arrays.stream(empIds).mapToObj(byEmpId::get).filter(Objects::nonNull).toList();
+    }
+
+    private List<EmployeeDTO> getEmployeesUnderManager(int managerId, List<EmployeeDTO> allEmp) {
         return allEmp.stream()
                 .filter(f -> f.getManager_id() == managerId)
-                .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
@@ -184,54 +467,19 @@ public class EmployeeServiceImpl implements EmployeeService {
     }*/
 
     private int getRandomNumber(int min, int max) {
-        Random r = new Random();
-        return r.nextInt(max - min) + min;
-    }
-
-    private EmployeeDTO convertToDto(Employee m) {
-        EmployeeDTO dto = new EmployeeDTO();
-        dto.setId(m.getId());
-        dto.setEmpId(m.getEmpId());
-        dto.setEmpName(m.getEmpName());
-        dto.setFatherName(m.getFatherName());
-        dto.setCategory(m.getCategory());
-        dto.setGender(m.getGender());
-        dto.setManager_id(m.getManager_id());
-        dto.setSalary(m.getSalary());
-        dto.setDesignation(m.getDesignation());
-
-        return dto;
-    }
-
-    private List<String> getDesignations() {
-        List<String> designations = new ArrayList<>();
-        designations.add("Associate Consultant");
-        designations.add("Software Engineer");
-        designations.add("Senior Software Engineer");
-        designations.add("Software Developer");
-        designations.add("Senior Software Developer");
-        designations.add("Technical Lead");
-        designations.add("Senior Technical Lead");
-        designations.add("Architect");
-        designations.add("Senior Architect");
-        designations.add("Associate Manager");
-        designations.add("Senior Manager");
-        designations.add("Group Manager");
-
-        return designations;
-    }
-
-    private List<Integer> getMangerIds(List<Employee> allEmp) {
-        return allEmp.stream()
-                .map(Employee::getManager_id)
-                .distinct()
-                .collect(Collectors.toList());
+        return ThreadLocalRandom.current().nextInt(min, max);
     }
 
-    private void validateEmployee(Employee employee) {
-        if (employee.getEmpName() == null || employee.getEmpName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Employee name cannot be empty");
+    IntHashSet getMangerIds(List<EmployeeDTO> allEmp) {
+        IntHashSet managerIds = new IntHashSet(Math.max(16, allEmp.size() / 8));
+        for (EmployeeDTO employee : allEmp) {
+            managerIds.add(employee.getManager_id());
         }
+        return managerIds;
+    }
+
+    private void validateEmployee(Employee employee) {
+        EmployeeUtils.validateEmployee(employee);
     }
 
   /*  public String getDetails() {
@@ -0,0 +1,36 @@
+package com.web.demo.services;
+
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.models.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The part of {@link EmployeeService} the reactive profile serves, read and written through R2DBC.
+ */
+public interface ReactiveEmployeeService {
+
+    Mono<Employee> findByEmpId(int empId);
+
+    /**
+     * Up to {@code employee.stream.page-size} rows with an ID above {@code afterId}, in ID order.
+     */
+    Mono<List<Employee>> findPageAfter(int afterId);
+
+    /**
+     * The rows of {@code page} followed by every later page. At most one page is read ahead of the rows
+     * requested, so a slow subscriber holds back the queries instead of buffering the table.
+     */
+    Flux<Employee> streamFrom(List<Employee> page);
+
+    Flux<EmployeeDTO> findAllUnderManager(int managerId);
+
+    Mono<Employee> createEmployee(Employee employee);
+
+    /**
+     * Same token as {@link EmployeeService#dataVersion()}.
+     */
+    String dataVersion();
+}
@@ -0,0 +1,91 @@
+package com.web.demo.services;
+
+import com.web.demo.caches.EmployeeCache;
+import com.web.demo.configs.ReactiveWebConfig;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.ReactiveEmployeeRepo;
+import com.web.demo.utils.EmployeeUtils;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Goes to the database for every read: the cache, indexes and replica behind {@link EmployeeServiceImpl}
+ * load through JPA and stay with the servlet stack. Writes still publish {@link EmployeeChangedEvent}s, so
+ * those in-memory views and {@link #dataVersion()} follow them.
+ */
+@Setter
+@Service
+@Profile(ReactiveWebConfig.PROFILE)
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepo reactiveEmployeeRepo;
+    private final EmployeeCache employeeCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${employee.stream.page-size:1000}")
+    private int streamPageSize = 1000;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepo reactiveEmployeeRepo, EmployeeCache employeeCache,
+                                       ApplicationEventPublisher eventPublisher) {
+        this.reactiveEmployeeRepo = reactiveEmployeeRepo;
+        this.employeeCache = employeeCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Mono<Employee> findByEmpId(int empId) {
+        return reactiveEmployeeRepo.findByEmpId(empId);
+    }
+
+    @Override
+    public Mono<List<Employee>> findPageAfter(int afterId) {
+        return reactiveEmployeeRepo.findPageAfter(afterId, streamPageSize).collectList();
+    }
+
+    /**
+     * A flat keyset loop: {@code expand} queries the page after each full one while that one is sent, so the
+     * operator chain stays the same length however many pages follow. Without prefetch, concatMap asks for
+     * a further page only once every row of the current one has been requested.
+     */
+    @Override
+    public Flux<Employee> streamFrom(List<Employee> page) {
+        return Mono.just(page)
+                .expand(p -> p.size() < streamPageSize ? Mono.empty() : findPageAfter(p.get(p.size() - 1).getId()))
+                .concatMap(Flux::fromIterable, 0);
+    }
+
+    @Override
+    public Flux<EmployeeDTO> findAllUnderManager(int managerId) {
+        return reactiveEmployeeRepo.findByManagerId(managerId)
+                .map(e -> new EmployeeDTO(e.getId(), e.getEmpId(), e.getEmpName(), e.getFatherName(), e.getGender(),
+                        e.getCategory(), e.getManager_id(), e.getDesignation(), e.getSalary()));
+    }
+
+    /**
+     * Always an INSERT, at version 0; an ID that is already taken fails on the primary key.
+     */
+    @Override
+    public Mono<Employee> createEmployee(Employee employee) {
+        return Mono.defer(() -> {
+                    EmployeeUtils.validateEmployee(employee);
+                    employee.setVersion(0);
+                    return reactiveEmployeeRepo.insert(employee);
+                })
+                .thenReturn(employee)
+                .doOnNext(saved -> eventPublisher.publishEvent(EmployeeChangedEvent.saved(saved)));
+    }
+
+    @Override
+    public String dataVersion() {
+        return employeeCache.dataVersion();
+    }
+}
@@ -1,6 +1,15 @@
 package com.web.demo.utils;
 
+import com.web.demo.models.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
 public class EmployeeUtils {
+
+    private static final String CURSOR_PREFIX = "id:";
+
     public static String getInitials(String empName, String fatherName) {
         return empName + fatherName;
     }
@@ -17,4 +26,47 @@ public class EmployeeUtils {
         return salary * 0.20;
     }
 
+    public static void validateEmployee(Employee employee) {
+        if (employee.getEmpName() == null || employee.getEmpName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Employee name cannot be empty");
+        }
+    }
+
+    /**
+     * Strong validator for one employee: primary key and version, plus a hash of the fields, since a row
+     * deleted and created again under the same id starts over at version 0.
+     */
+    public static String eTag(Employee employee) {
+        int fields = Objects.hash(employee.getEmpId(), employee.getEmpName(), employee.getFatherName(),
+                employee.getGender(), employee.getCategory(), employee.getManager_id(), employee.getSalary(),
+                employee.getDesignation());
+        return employee.getId() + "-" + employee.getVersion() + "-" + Integer.toHexString(fields);
+    }
+
+    /**
+     * Encodes the last primary key seen by a client into an opaque continuation token.
+     */
+    public static String encodeCursor(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encodeCursor(int)}; a null or blank token means "from the start".
+     */
+    public static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Integer.MIN_VALUE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
+
 }
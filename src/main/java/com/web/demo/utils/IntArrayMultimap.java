@@ -0,0 +1,240 @@
+package com.web.demo.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Primitive int to int-list multimap. Each key owns a growable {@code int[]} bucket, so lookups are
+ * O(values for key) and nothing is boxed. Not thread safe.
+ */
+public class IntArrayMultimap {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final IntIntHashMap bucketByKey;
+    private int[][] buckets;
+    private int[] bucketSizes;
+    private int[] freeBuckets;
+    private int freeCount;
+    private int bucketCount;
+    private int valueCount;
+
+    public IntArrayMultimap() {
+        this(16);
+    }
+
+    public IntArrayMultimap(int expectedKeys) {
+        bucketByKey = new IntIntHashMap(expectedKeys);
+        buckets = new int[Math.max(16, expectedKeys)][];
+        bucketSizes = new int[buckets.length];
+        freeBuckets = new int[16];
+    }
+
+    public void put(int key, int value) {
+        int bucket = bucketByKey.get(key, -1);
+        if (bucket < 0) {
+            bucket = allocateBucket();
+            bucketByKey.put(key, bucket, -1);
+        }
+        int[] values = buckets[bucket];
+        int size = bucketSizes[bucket];
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size << 1));
+            buckets[bucket] = values;
+        }
+        values[size] = value;
+        bucketSizes[bucket] = size + 1;
+        valueCount++;
+    }
+
+    /**
+     * Removes one occurrence of {@code value} under {@code key}; order within the bucket is not preserved.
+     */
+    public boolean remove(int key, int value) {
+        int bucket = bucketByKey.get(key, -1);
+        if (bucket < 0) {
+            return false;
+        }
+        int[] values = buckets[bucket];
+        int size = bucketSizes[bucket];
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                values[i] = values[size - 1];
+                bucketSizes[bucket] = size - 1;
+                valueCount--;
+                if (size == 1) {
+                    bucketByKey.remove(key, -1);
+                    releaseBucket(bucket);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts {@code value} in ascending position, for keys whose values are kept sorted.
+     */
+    public void putSorted(int key, int value) {
+        put(key, value);
+        int bucket = bucketByKey.get(key, -1);
+        int[] values = buckets[bucket];
+        int last = bucketSizes[bucket] - 1;
+        int at = insertionPoint(values, last, value);
+        System.arraycopy(values, at, values, at + 1, last - at);
+        values[at] = value;
+    }
+
+    /**
+     * Removes one occurrence of {@code value} under {@code key}, keeping sorted values sorted.
+     */
+    public boolean removeSorted(int key, int value) {
+        int bucket = bucketByKey.get(key, -1);
+        if (bucket < 0) {
+            return false;
+        }
+        int[] values = buckets[bucket];
+        int size = bucketSizes[bucket];
+        int at = insertionPoint(values, size, value);
+        if (at == size || values[at] != value) {
+            return false;
+        }
+        System.arraycopy(values, at + 1, values, at, size - at - 1);
+        bucketSizes[bucket] = size - 1;
+        valueCount--;
+        if (size == 1) {
+            bucketByKey.remove(key, -1);
+            releaseBucket(bucket);
+        }
+        return true;
+    }
+
+    /**
+     * Sorts the values under every key ascending, e.g. after a bulk load with {@link #put}.
+     */
+    public void sortValues() {
+        for (int i = 0; i < bucketCount; i++) {
+            if (buckets[i] != null) {
+                Arrays.sort(buckets[i], 0, bucketSizes[i]);
+            }
+        }
+    }
+
+    public int[] get(int key) {
+        int bucket = bucketByKey.get(key, -1);
+        if (bucket < 0) {
+            return EMPTY;
+        }
+        return Arrays.copyOf(buckets[bucket], bucketSizes[bucket]);
+    }
+
+    /**
+     * Visits the values under {@code key} in place, without the copy {@link #get(int)} makes.
+     */
+    public void forEach(int key, IntConsumer action) {
+        int bucket = bucketByKey.get(key, -1);
+        if (bucket >= 0) {
+            int[] values = buckets[bucket];
+            for (int i = 0, size = bucketSizes[bucket]; i < size; i++) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Visits the values under {@code key} in order until {@code action} returns false.
+     */
+    public void forEachWhile(int key, IntPredicate action) {
+        int bucket = bucketByKey.get(key, -1);
+        if (bucket >= 0) {
+            int[] values = buckets[bucket];
+            int size = bucketSizes[bucket];
+            int i = 0;
+            while (i < size && action.test(values[i])) {
+                i++;
+            }
+        }
+    }
+
+    public int count(int key) {
+        int bucket = bucketByKey.get(key, -1);
+        return bucket < 0 ? 0 : bucketSizes[bucket];
+    }
+
+    public boolean containsKey(int key) {
+        return bucketByKey.containsKey(key);
+    }
+
+    public int keyCount() {
+        return bucketByKey.size();
+    }
+
+    public int valueCount() {
+        return valueCount;
+    }
+
+    public void clear() {
+        bucketByKey.clear();
+        Arrays.fill(buckets, null);
+        Arrays.fill(bucketSizes, 0);
+        freeCount = 0;
+        bucketCount = 0;
+        valueCount = 0;
+    }
+
+    /**
+     * Approximate heap retained by the buckets and the key table.
+     */
+    public long sizeInBytes() {
+        long bytes = bucketByKey.sizeInBytes() + (long) buckets.length * (8 + Integer.BYTES);
+        for (int i = 0; i < bucketCount; i++) {
+            if (buckets[i] != null) {
+                bytes += 16 + (long) buckets[i].length * Integer.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * The first index in {@code values[0, size)} holding a value of at least {@code value}.
+     */
+    private static int insertionPoint(int[] values, int size, int value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int allocateBucket() {
+        int bucket;
+        if (freeCount > 0) {
+            bucket = freeBuckets[--freeCount];
+        } else {
+            if (bucketCount == buckets.length) {
+                buckets = Arrays.copyOf(buckets, bucketCount << 1);
+                bucketSizes = Arrays.copyOf(bucketSizes, bucketCount << 1);
+            }
+            bucket = bucketCount++;
+        }
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new int[4];
+        }
+        bucketSizes[bucket] = 0;
+        return bucket;
+    }
+
+    private void releaseBucket(int bucket) {
+        if (freeCount == freeBuckets.length) {
+            freeBuckets = Arrays.copyOf(freeBuckets, freeCount << 1);
+        }
+        freeBuckets[freeCount++] = bucket;
+    }
+}
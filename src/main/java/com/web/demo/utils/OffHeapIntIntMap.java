@@ -0,0 +1,230 @@
+package com.web.demo.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to int map with linear probing, held in direct (off-heap) memory and published
+ * copy-on-write. An instance never changes once built, so any number of threads may read it without
+ * locking; changes go through an {@link Editor}, which copies only the hash partitions it touches.
+ * Values must be non-negative.
+ */
+public final class OffHeapIntIntMap {
+
+    private static final int EMPTY = -1;
+    private static final int PARTITION_SIZE = 2048;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final Partition EMPTY_PARTITION = new Partition(IntIntHashMap.capacityFor(0));
+
+    private final Partition[] partitions;
+    private final int size;
+
+    private OffHeapIntIntMap(Partition[] partitions, int size) {
+        this.partitions = partitions;
+        this.size = size;
+    }
+
+    /**
+     * An empty map partitioned for about {@code expectedSize} keys, so an edit copies a few thousand
+     * entries rather than the whole map. Partitions still grow past that, until the map is rebuilt.
+     */
+    public static OffHeapIntIntMap empty(int expectedSize) {
+        Partition[] partitions = new Partition[Integer.highestOneBit(Math.max(1, expectedSize / PARTITION_SIZE))];
+        Arrays.fill(partitions, EMPTY_PARTITION);
+        return new OffHeapIntIntMap(partitions, 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int key, int defaultValue) {
+        return partitions[partitionOf(key, partitions.length)].get(key, defaultValue);
+    }
+
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * Direct memory retained by the partitions.
+     */
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (Partition partition : partitions) {
+            bytes += (long) partition.capacity() * Integer.BYTES * 2;
+        }
+        return bytes;
+    }
+
+    private static int partitionOf(int key, int partitions) {
+        // The high bits pick the partition; slots within it are probed from the low bits of mix(key).
+        return partitions == 1 ? 0 : (key * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(partitions));
+    }
+
+    /**
+     * A private working copy of the map. Partitions are copied on first write; {@link #publish()} hands
+     * the result out as a new immutable map. Not thread safe, and unusable after publishing.
+     */
+    public final class Editor {
+
+        private final Partition[] edited = partitions.clone();
+        private final boolean[] owned = new boolean[partitions.length];
+        private int editedSize = size;
+        private boolean published;
+
+        private Editor() {
+        }
+
+        public int get(int key, int defaultValue) {
+            return edited[partitionOf(key, edited.length)].get(key, defaultValue);
+        }
+
+        /**
+         * @return the previous value mapped to the key, or {@code defaultValue} if there was none
+         */
+        public int put(int key, int value, int defaultValue) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Values must be non-negative: " + value);
+            }
+            int index = partitionOf(key, edited.length);
+            Partition partition = writable(index);
+            if (partition.size + 1 > partition.capacity() * LOAD_FACTOR && partition.get(key, EMPTY) == EMPTY) {
+                partition = edited[index] = partition.copy(partition.capacity() << 1);
+            }
+            int previous = partition.put(key, value);
+            if (previous == EMPTY) {
+                editedSize++;
+                return defaultValue;
+            }
+            return previous;
+        }
+
+        /**
+         * @return the removed value, or {@code defaultValue} if the key was absent
+         */
+        public int remove(int key, int defaultValue) {
+            int index = partitionOf(key, edited.length);
+            if (edited[index].get(key, EMPTY) == EMPTY) {
+                return defaultValue;
+            }
+            editedSize--;
+            return writable(index).remove(key);
+        }
+
+        public OffHeapIntIntMap publish() {
+            checkNotPublished();
+            published = true;
+            return new OffHeapIntIntMap(edited, editedSize);
+        }
+
+        private Partition writable(int index) {
+            checkNotPublished();
+            if (!owned[index]) {
+                edited[index] = edited[index].copy(edited[index].capacity());
+                owned[index] = true;
+            }
+            return edited[index];
+        }
+
+        private void checkNotPublished() {
+            if (published) {
+                throw new IllegalStateException("Editor already published");
+            }
+        }
+    }
+
+    /**
+     * One open-addressing table of (key, value) int pairs; a value of {@link #EMPTY} marks a free slot.
+     */
+    private static final class Partition {
+
+        private final IntBuffer slots;
+        private final int mask;
+        private int size;
+
+        private Partition(int capacity) {
+            slots = ByteBuffer.allocateDirect(capacity * Integer.BYTES * 2).order(ByteOrder.nativeOrder()).asIntBuffer();
+            for (int slot = 0; slot < capacity; slot++) {
+                slots.put(slot * 2 + 1, EMPTY);
+            }
+            mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        int get(int key, int defaultValue) {
+            int slot = IntIntHashMap.mix(key) & mask;
+            int value;
+            while ((value = slots.get(slot * 2 + 1)) != EMPTY) {
+                if (slots.get(slot * 2) == key) {
+                    return value;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return defaultValue;
+        }
+
+        int put(int key, int value) {
+            int slot = IntIntHashMap.mix(key) & mask;
+            int previous;
+            while ((previous = slots.get(slot * 2 + 1)) != EMPTY) {
+                if (slots.get(slot * 2) == key) {
+                    slots.put(slot * 2 + 1, value);
+                    return previous;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots.put(slot * 2, key);
+            slots.put(slot * 2 + 1, value);
+            size++;
+            return EMPTY;
+        }
+
+        /**
+         * Removes a key known to be present, with backward-shift deletion as in {@link IntIntHashMap}.
+         */
+        int remove(int key) {
+            int slot = IntIntHashMap.mix(key) & mask;
+            while (slots.get(slot * 2) != key || slots.get(slot * 2 + 1) == EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            int removed = slots.get(slot * 2 + 1);
+            slots.put(slot * 2 + 1, EMPTY);
+            size--;
+            int gap = slot;
+            int i = (slot + 1) & mask;
+            while (slots.get(i * 2 + 1) != EMPTY) {
+                int ideal = IntIntHashMap.mix(slots.get(i * 2)) & mask;
+                if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                    slots.put(gap * 2, slots.get(i * 2));
+                    slots.put(gap * 2 + 1, slots.get(i * 2 + 1));
+                    slots.put(i * 2 + 1, EMPTY);
+                    gap = i;
+                }
+                i = (i + 1) & mask;
+            }
+            return removed;
+        }
+
+        Partition copy(int capacity) {
+            Partition copy = new Partition(capacity);
+            if (capacity == capacity()) {
+                copy.slots.put(0, slots, 0, capacity * 2);
+                copy.size = size;
+            } else {
+                for (int slot = 0; slot <= mask; slot++) {
+                    int value = slots.get(slot * 2 + 1);
+                    if (value != EMPTY) {
+                        copy.put(slots.get(slot * 2), value);
+                    }
+                }
+            }
+            return copy;
+        }
+    }
+}
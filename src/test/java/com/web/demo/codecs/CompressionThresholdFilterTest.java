@@ -0,0 +1,109 @@
+package com.web.demo.codecs;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CompressionThresholdFilterTest {
+
+    private final CompressionThresholdFilter filter = new CompressionThresholdFilter(16);
+
+    @Test
+    void testSmallBodyIsSentWithItsLength() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(gzipRequest(), response, (req, res) -> {
+            res.getOutputStream().write("{\"id\":7}".getBytes(StandardCharsets.UTF_8));
+            res.getOutputStream().flush();
+            res.flushBuffer();
+            assertFalse(res.isCommitted());
+        });
+
+        assertEquals(8, response.getContentLength());
+        assertEquals("{\"id\":7}", response.getContentAsString());
+    }
+
+    @Test
+    void testLargeBodyStreamsWithoutLength() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String body = "[" + "1,".repeat(20) + "2]";
+
+        filter.doFilter(gzipRequest(), response, (req, res) -> {
+            res.getWriter().write(body.substring(0, 10));
+            res.getWriter().flush();
+            assertFalse(res.isCommitted());
+            res.getWriter().write(body.substring(10));
+            res.flushBuffer();
+            assertTrue(res.isCommitted());
+        });
+
+        assertNull(response.getHeader("Content-Length"));
+        assertEquals(body, response.getContentAsString());
+    }
+
+    @Test
+    void testWriteListenerStopsBufferingAndReachesTheContainer() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<WriteListener> registered = new AtomicReference<>();
+        ServletOutputStream container = new ServletOutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                response.getOutputStream().write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return false;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                registered.set(writeListener);
+            }
+        };
+        WriteListener listener = mock(WriteListener.class);
+
+        filter.doFilter(gzipRequest(), new HttpServletResponseWrapper(response) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return container;
+            }
+        }, (req, res) -> {
+            res.getOutputStream().write('x');
+            assertTrue(res.getOutputStream().isReady());
+            res.getOutputStream().setWriteListener(listener);
+            assertFalse(res.getOutputStream().isReady());
+        });
+
+        assertSame(listener, registered.get());
+        assertNull(response.getHeader("Content-Length"));
+        assertEquals("x", response.getContentAsString());
+    }
+
+    @Test
+    void testPassesThroughWithoutGzipAcceptEncoding() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/emp/7"), response,
+                (req, res) -> res.getOutputStream().write('x'));
+
+        assertNull(response.getHeader("Content-Length"));
+        assertEquals("x", response.getContentAsString());
+    }
+
+    private static MockHttpServletRequest gzipRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/emp/7");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package com.web.demo.codecs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.models.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeColumnarCodecTest {
+
+    @Test
+    void testEmployeesRoundTripIncludingNullsAndNegativeDeltas() throws IOException {
+        Employee first = employee(500, 1500, "Ana", "Jorge", "Female", "GEN", "Architect", 70000);
+        first.setVersion(3);
+        Employee second = employee(7, 1007, "Ravi", null, null, "OBC", "Architect", -1);
+        Employee third = employee(8, 1008, "Zoë", "Émile", "Female", "GEN", null, 0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EmployeeColumnarCodec.write(List.of(first, second, third), Employee.class, out);
+        List<Employee> read = EmployeeColumnarCodec.read(new ByteArrayInputStream(out.toByteArray()), Employee.class);
+
+        assertEquals(3, read.size());
+        assertEquals(first.toString(), read.get(0).toString());
+        assertEquals(3, read.get(0).getVersion());
+        assertEquals(second.toString(), read.get(1).toString());
+        assertNull(read.get(1).getFatherName());
+        assertNull(read.get(1).getGender());
+        assertEquals(third.toString(), read.get(2).toString());
+    }
+
+    @Test
+    void testRepeatedValuesAreDictionaryEncoded() throws IOException {
+        List<EmployeeDTO> dtos = IntStream.range(0, 1000)
+                .mapToObj(i -> new EmployeeDTO(i + 1, 100_000 + i, "E" + i, "F" + i, i % 2 == 0 ? "Male" : "Female",
+                        "GEN", 100_000, "Senior Software Engineer", 50_000))
+                .toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EmployeeColumnarCodec.write(dtos, EmployeeDTO.class, out);
+
+        // The repeated strings are written once; each row then costs one byte per dictionary column.
+        int json = new ObjectMapper().writeValueAsBytes(dtos).length;
+        assertTrue(out.size() * 5 < json, "Encoded " + out.size() + " bytes against " + json + " as JSON");
+        List<EmployeeDTO> read = EmployeeColumnarCodec.read(new ByteArrayInputStream(out.toByteArray()), EmployeeDTO.class);
+        assertEquals(dtos.get(999).toString(), read.get(999).toString());
+        assertThrows(IOException.class,
+                () -> EmployeeColumnarCodec.read(new ByteArrayInputStream(out.toByteArray()), Employee.class));
+    }
+
+    @Test
+    void testConverterOnlyHandlesEmployeeLists() throws IOException {
+        EmployeeColumnarHttpMessageConverter converter = new EmployeeColumnarHttpMessageConverter();
+        Type employees = new ParameterizedTypeReference<List<Employee>>() { }.getType();
+        Type strings = new ParameterizedTypeReference<List<String>>() { }.getType();
+
+        assertTrue(converter.canWrite(employees, List.class, EmployeeColumnarHttpMessageConverter.MEDIA_TYPE));
+        assertFalse(converter.canWrite(employees, List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(strings, List.class, EmployeeColumnarHttpMessageConverter.MEDIA_TYPE));
+        assertFalse(converter.canWrite(Employee.class, Employee.class, EmployeeColumnarHttpMessageConverter.MEDIA_TYPE));
+
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(List.of(employee(1, 101, "A", "B", "Male", "GEN", "Lead", 1)), employees, null, message);
+        assertEquals(EmployeeColumnarHttpMessageConverter.MEDIA_TYPE, message.getHeaders().getContentType());
+        assertEquals("A", EmployeeColumnarCodec.read(new ByteArrayInputStream(message.getBodyAsBytes()), Employee.class)
+                .get(0).getEmpName());
+    }
+
+    private static Employee employee(int id, int empId, String name, String fatherName, String gender, String category,
+                                     String designation, int salary) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmpId(empId);
+        employee.setEmpName(name);
+        employee.setFatherName(fatherName);
+        employee.setGender(gender);
+        employee.setCategory(category);
+        employee.setManager_id(empId / 2);
+        employee.setDesignation(designation);
+        employee.setSalary(salary);
+        return employee;
+    }
+}
@@ -0,0 +1,50 @@
+package com.web.demo.codecs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.models.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeJsonModuleTest {
+
+    private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper moduleMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new EmployeeJsonModule()).build();
+
+    @Test
+    void testEmployeeMatchesBeanSerializer() throws Exception {
+        Employee full = new Employee();
+        full.setId(1);
+        full.setEmpId(101);
+        full.setEmpName("Zoë \"Z\"");
+        full.setFatherName("F");
+        full.setGender("Female");
+        full.setCategory("GEN");
+        full.setManager_id(100);
+        full.setSalary(-5);
+        full.setDesignation("Lead");
+        full.setVersion(4);
+        List<Employee> employees = List.of(full, new Employee());
+
+        assertEquals(beanMapper.writeValueAsString(employees), moduleMapper.writeValueAsString(employees));
+        Employee read = moduleMapper.readValue(moduleMapper.writeValueAsBytes(full), Employee.class);
+        assertEquals(full.toString(), read.toString());
+    }
+
+    @Test
+    void testDtoMatchesBeanSerializerInJsonAndSmile() throws Exception {
+        List<EmployeeDTO> dtos = List.of(new EmployeeDTO(1, 101, "A", null, "Male", "OBC", 100, "Architect", 7000),
+                new EmployeeDTO());
+
+        assertEquals(beanMapper.writeValueAsString(dtos), moduleMapper.writeValueAsString(dtos));
+        ObjectMapper beanSmile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        ObjectMapper moduleSmile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory())
+                .modulesToInstall(new EmployeeJsonModule()).build();
+        assertArrayEquals(beanSmile.writeValueAsBytes(dtos), moduleSmile.writeValueAsBytes(dtos));
+    }
+}
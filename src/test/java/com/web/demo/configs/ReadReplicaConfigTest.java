@@ -0,0 +1,64 @@
+package com.web.demo.configs;
+
+import com.web.demo.models.Employee;
+import com.web.demo.services.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for the Oracle primary and its replica; the replica holds a
+ * different row so the test can tell which one answered.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "employee.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "employee.datasource.replica.driver-class-name=org.h2.Driver",
+        "employee.datasource.replica.username=sa",
+        "employee.datasource.replica.password="
+})
+class ReadReplicaConfigTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Test
+    void testReadOnlyWorkGoesToReplicaAndWritesToPrimary() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS EMPLOYEE_DATA (ID INT PRIMARY KEY, EMP_ID INT, EMP_NAME VARCHAR(100), "
+                + "FATHER_NAME VARCHAR(100), GENDER VARCHAR(10), CATEGORY VARCHAR(10), MANAGER_ID INT, "
+                + "DESIGNATION VARCHAR(50), SALARY INT, VERSION INT DEFAULT 0 NOT NULL)");
+        replica.update("MERGE INTO EMPLOYEE_DATA (ID, EMP_ID, EMP_NAME, MANAGER_ID, SALARY) KEY (ID) VALUES (1, 101, 'Replica', 0, 0)");
+
+        Employee employee = new Employee();
+        employee.setId(2);
+        employee.setEmpId(102);
+        employee.setEmpName("Primary");
+        employeeService.createEmployee(employee);
+
+        List<String> names = employeeService.findAll().stream().map(Employee::getEmpName).toList();
+        assertEquals(List.of("Replica"), names);
+        assertEquals(List.of("Primary"),
+                new JdbcTemplate(primaryDataSource).queryForList("SELECT EMP_NAME FROM EMPLOYEE_DATA", String.class));
+    }
+}
@@ -0,0 +1,81 @@
+package com.web.demo.configs;
+
+import com.web.demo.metrics.StatementTracker;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCountingDataSourceTest {
+
+    private StatementCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:counting;DB_CLOSE_DELAY=-1");
+        dataSource = new StatementCountingDataSource(h2);
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS T (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+            statement.execute("DELETE FROM T");
+        }
+    }
+
+    @Test
+    void testCountsExecutionsAndBatchesAsRoundTrips() throws SQLException {
+        try (StatementTracker.Scope scope = StatementTracker.start();
+             Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO T VALUES (?, ?)")) {
+                for (int id = 1; id <= 3; id++) {
+                    insert.setInt(1, id);
+                    insert.setString(2, "n" + id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (int id = 1; id <= 3; id++) {
+                    try (ResultSet rs = statement.executeQuery("SELECT NAME FROM T WHERE ID = " + id + " AND NAME <> 'x'")) {
+                        assertTrue(rs.next());
+                    }
+                }
+            }
+
+            scope.assertExactly(4);
+            assertEquals(Map.of("INSERT INTO T VALUES (?, ?)", 1,
+                    "SELECT NAME FROM T WHERE ID = ? AND NAME <> ?", 3), scope.shapes());
+            AssertionError error = assertThrows(AssertionError.class, () -> scope.assertAtMost(3));
+            assertTrue(error.getMessage().contains("3x SELECT NAME FROM T WHERE ID = ? AND NAME <> ?"));
+            assertThrows(AssertionError.class, () -> scope.assertNoShapeRepeatedMoreThan(2));
+        }
+    }
+
+    @Test
+    void testNestedScopesAndOverflowStack() throws SQLException {
+        try (StatementTracker.Scope outer = StatementTracker.start(1);
+             Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT COUNT(*) FROM T")) {
+            select.executeQuery().close();
+            assertNull(outer.overflowStack());
+            try (StatementTracker.Scope inner = StatementTracker.start()) {
+                select.executeQuery().close();
+                inner.assertExactly(1);
+            }
+            outer.assertExactly(2);
+            assertNotNull(outer.overflowStack());
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT COUNT(*) FROM T")) {
+            // Outside a scope nothing is tallied and nothing fails.
+            select.executeQuery().close();
+        }
+    }
+}
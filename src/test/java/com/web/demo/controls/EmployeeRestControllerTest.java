@@ -1,7 +1,12 @@
 package com.web.demo.controls;
 
 import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.ImportReport;
+import com.web.demo.exceptions.WriteBehindQueueFullException;
 import com.web.demo.models.Employee;
+import com.web.demo.queues.EmployeeWriteBehindQueue;
+import com.web.demo.services.EmployeeImportService;
 import com.web.demo.services.EmployeeServiceImpl;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,9 +16,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +40,12 @@ public class EmployeeRestControllerTest {
     @Mock
     EmployeeServiceImpl employeeService;
 
+    @Mock
+    EmployeeImportService employeeImportService;
+
+    @Mock
+    EmployeeWriteBehindQueue writeBehindQueue;
+
     @Test
     public void helloWorldTest(){
         MockHttpServletRequest request = new MockHttpServletRequest();
@@ -90,7 +105,7 @@ public class EmployeeRestControllerTest {
         List<EmployeeDTO> employeeList = getManagerDataDto();
         when(employeeService.findAllUnderManager(76127)).thenReturn(employeeList);
 
-        ResponseEntity<List<EmployeeDTO>> responseEntity = employeeController.findAllUnderManager(76127);
+        ResponseEntity<List<EmployeeDTO>> responseEntity = employeeController.findAllUnderManager(76127, new ServletWebRequest(request));
 
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(200);
         assertThat(responseEntity.getBody().size()).isEqualTo(employeeList.size());
@@ -104,7 +119,7 @@ public class EmployeeRestControllerTest {
         List<EmployeeDTO> employeeList = new ArrayList<>();
         when(employeeService.findAllUnderManager(76127)).thenReturn(employeeList);
 
-        ResponseEntity<List<EmployeeDTO>> responseEntity = employeeController.findAllUnderManager(76127);
+        ResponseEntity<List<EmployeeDTO>> responseEntity = employeeController.findAllUnderManager(76127, new ServletWebRequest(request));
 
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(204);
     }
@@ -115,11 +130,27 @@ public class EmployeeRestControllerTest {
         RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
         when(employeeService.findAllUnderManager(76127)).thenReturn(null);
 
-        ResponseEntity<List<EmployeeDTO>> responseEntity = employeeController.findAllUnderManager(76127);
+        ResponseEntity<List<EmployeeDTO>> responseEntity = employeeController.findAllUnderManager(76127, new ServletWebRequest(request));
 
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(500);
     }
 
+    @Test
+    public void findAllUnderManagerNotModifiedTest(){
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/emp/manager/76127");
+        request.addHeader("If-None-Match", "\"m76127-k1.4\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(employeeService.dataVersion()).thenReturn("k1.4");
+
+        ResponseEntity<List<EmployeeDTO>> responseEntity =
+                employeeController.findAllUnderManager(76127, new ServletWebRequest(request, response));
+
+        assertThat(responseEntity).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"m76127-k1.4\"");
+        verify(employeeService, never()).findAllUnderManager(anyInt());
+    }
+
     @Test
     public void getEmpByIdTest(){
         MockHttpServletRequest request = new MockHttpServletRequest();
@@ -133,6 +164,16 @@ public class EmployeeRestControllerTest {
         ResponseEntity<Employee> responseEntity = employeeController.getEmpById(76127);
 
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(200);
+        String eTag = responseEntity.getHeaders().getETag();
+        assertThat(eTag).startsWith("\"12-0-");
+
+        // Deleted and created again under the same id, back at version 0: the tag must still change.
+        Employee recreated = new Employee();
+        recreated.setId(12);
+        recreated.setEmpName("Pramod");
+        recreated.setManager_id(76127);
+        when(employeeService.findByEmpId(76127)).thenReturn(Optional.of(recreated));
+        assertThat(employeeController.getEmpById(76127).getHeaders().getETag()).isNotEqualTo(eTag);
     }
 
     @Test
@@ -172,6 +213,30 @@ public class EmployeeRestControllerTest {
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(500);
     }
 
+    @Test
+    public void createEmployeeWriteBehindTest(){
+        Employee empRequest = new Employee();
+        empRequest.setEmpId(11);
+        empRequest.setEmpName("Chandra");
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+
+        ResponseEntity<Employee> responseEntity = employeeController.createEmployee(empRequest);
+
+        assertThat(responseEntity.getStatusCode().value()).isEqualTo(202);
+        verify(writeBehindQueue).enqueue(argThat(write -> write.getEmpId() == 11 && "Chandra".equals(write.getEmpName())));
+        verify(employeeService, never()).createEmployee(any());
+    }
+
+    @Test
+    public void createEmployeeWriteBehindFullTest(){
+        Employee empRequest = new Employee();
+        empRequest.setEmpName("Chandra");
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+        doThrow(new WriteBehindQueueFullException("full", 1)).when(writeBehindQueue).enqueue(any());
+
+        assertThrows(WriteBehindQueueFullException.class, () -> employeeController.createEmployee(empRequest));
+    }
+
     @Test
     void testUpdateEmployee_EmployeeFound() {
         // Given
@@ -197,6 +262,18 @@ public class EmployeeRestControllerTest {
         verify(employeeService, times(1)).createEmployee(employee);
     }
 
+    @Test
+    void testPatchEmployee() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setVersion(1);
+        patch.setEmpName("Jane");
+
+        ResponseEntity<Void> response = employeeController.patchEmployee(101, patch);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(employeeService, times(1)).patchEmployee(101, patch);
+    }
+
     @Test
     void testGetEmployeeById_EmployeeFound() {
         // Given
@@ -330,6 +407,20 @@ public class EmployeeRestControllerTest {
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(500);
     }
 
+    @Test
+    public void deleteEmployeesTest(){
+        ResponseEntity<Void> responseEntity = employeeController.deleteEmployees(List.of(101, 102));
+        assertThat(responseEntity.getStatusCode().value()).isEqualTo(204);
+        verify(employeeService).deleteByEmpIds(List.of(101, 102));
+    }
+
+    @Test
+    public void deleteEmployeeRangeTest(){
+        ResponseEntity<Void> responseEntity = employeeController.deleteEmployeeRange(1, 5000);
+        assertThat(responseEntity.getStatusCode().value()).isEqualTo(204);
+        verify(employeeService).deleteIdRange(1, 5000);
+    }
+
     @Test
     public void updateFindAllEmptyTest(){
         when(employeeService.updateFindAll()).thenReturn(new ArrayList<>());
@@ -355,20 +446,34 @@ public class EmployeeRestControllerTest {
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(500);
     }
 
+    @Test
+    public void bulkCreateNdjsonTest(){
+        ImportReport report = new ImportReport();
+        report.setRowsRead(2);
+        report.setRowsWritten(2);
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(employeeImportService.importNewEmployees(body, EmployeeImportService.Format.NDJSON)).thenReturn(report);
+
+        ResponseEntity<ImportReport> responseEntity = employeeController.bulkCreateNdjson(body);
+        assertThat(responseEntity.getStatusCode().value()).isEqualTo(201);
+        assertThat(responseEntity.getBody().getRowsWritten()).isEqualTo(2);
+    }
+
     @Test
     public void readJsonTest(){
-        List<EmployeeDTO> empDto = getManagerDataDto();
-        when(employeeService.readJson()).thenReturn(empDto);
+        ImportReport report = new ImportReport();
+        report.setRowsRead(getManagerDataDto().size());
+        when(employeeService.readJson()).thenReturn(report);
 
-        ResponseEntity<List<EmployeeDTO>> responseEntity = employeeController.readJson();
+        ResponseEntity<ImportReport> responseEntity = employeeController.readJson();
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(200);
     }
 
     @Test
     public void readJsonEmptyTest(){
-        when(employeeService.readJson()).thenReturn(new ArrayList<>());
+        when(employeeService.readJson()).thenReturn(new ImportReport());
 
-        ResponseEntity<List<EmployeeDTO>> responseEntity = employeeController.readJson();
+        ResponseEntity<ImportReport> responseEntity = employeeController.readJson();
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(204);
     }
 
@@ -376,7 +481,7 @@ public class EmployeeRestControllerTest {
     public void readJsonExceptionTest(){
         when(employeeService.readJson()).thenThrow(new RuntimeException());
 
-        ResponseEntity<List<EmployeeDTO>> responseEntity = employeeController.readJson();
+        ResponseEntity<ImportReport> responseEntity = employeeController.readJson();
         assertThat(responseEntity.getStatusCode().value()).isEqualTo(500);
     }
 
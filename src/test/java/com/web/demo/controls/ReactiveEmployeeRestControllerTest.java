@@ -0,0 +1,120 @@
+package com.web.demo.controls;
+
+import com.web.demo.configs.ReactiveWebConfig;
+import com.web.demo.models.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive profile end to end on Netty, with one in-memory H2 database behind both JPA (which creates
+ * the table) and R2DBC. Pages of two rows make {@code /emp/list} cross page boundaries.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive;DB_CLOSE_DELAY=-1",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "employee.stream.page-size=2"
+})
+@ActiveProfiles(ReactiveWebConfig.PROFILE)
+class ReactiveEmployeeRestControllerTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_DATA");
+        jdbcTemplate.batchUpdate("INSERT INTO EMPLOYEE_DATA (ID, EMP_ID, EMP_NAME, MANAGER_ID, SALARY, VERSION) "
+                + "VALUES (?, ?, ?, ?, 1000, 0)", IntStream.rangeClosed(1, ROWS)
+                .mapToObj(id -> new Object[]{id, 100 + id, "E" + id, id == 1 ? 0 : 101}).toList());
+    }
+
+    @Test
+    void testListStreamsEveryPageInIdOrder() {
+        webTestClient.get().uri("/emp/list").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(ROWS)
+                .jsonPath("$[0].empName").isEqualTo("E1")
+                .jsonPath("$[4].empId").isEqualTo(105);
+
+        String ndjson = webTestClient.get().uri("/emp/list").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertEquals(ROWS, ndjson.lines().count());
+
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_DATA");
+        webTestClient.get().uri("/emp/list").exchange().expectStatus().isNoContent();
+    }
+
+    @Test
+    void testGetByEmpIdIsConditional() {
+        String eTag = webTestClient.get().uri("/emp/103").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches(HttpHeaders.ETAG, "\"3-0-\\p{XDigit}+\"")
+                .expectBody().jsonPath("$.empName").isEqualTo("E3")
+                .returnResult().getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/emp/103").ifNoneMatch(eTag).exchange().expectStatus().isNotModified();
+        webTestClient.get().uri("/emp/999").exchange().expectStatus().isNoContent();
+    }
+
+    @Test
+    void testManagerReportsAreConditional() {
+        String eTag = webTestClient.get().uri("/emp/manager/101").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(ROWS - 1)
+                .returnResult().getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/emp/manager/101").ifNoneMatch(eTag).exchange().expectStatus().isNotModified();
+        webTestClient.get().uri("/emp/manager/999").exchange().expectStatus().isNoContent();
+    }
+
+    @Test
+    void testCreateIsReadBack() {
+        Employee employee = new Employee();
+        employee.setId(10);
+        employee.setEmpId(110);
+        employee.setEmpName("Anand");
+        employee.setManager_id(101);
+
+        webTestClient.post().uri("/emp/create").bodyValue(employee).exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.empId").isEqualTo(110);
+        webTestClient.get().uri("/emp/110").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.empName").isEqualTo("Anand");
+
+        // The primary key is taken now; an empty name never reaches the database.
+        webTestClient.post().uri("/emp/create").bodyValue(employee).exchange().expectStatus().is5xxServerError();
+        employee.setId(11);
+        employee.setEmpName("");
+        webTestClient.post().uri("/emp/create").bodyValue(employee).exchange().expectStatus().is5xxServerError();
+    }
+
+    @Test
+    void testServletOnlyEndpointsAreAbsent() {
+        webTestClient.get().uri("/emp/manager/101/tree").exchange().expectStatus().isNotFound();
+    }
+}
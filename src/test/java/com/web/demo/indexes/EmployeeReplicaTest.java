@@ -0,0 +1,136 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.ReplicaRow;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeReplicaTest {
+
+    // Spans two blocks, so moves and copies cross a block boundary.
+    private static final int ROWS = EmployeeReplica.BLOCK_ROWS + 10;
+
+    @Mock
+    private EmployeeRepo employeeRepo;
+
+    private EmployeeReplica employeeReplica;
+
+    @BeforeEach
+    void setUp() {
+        employeeReplica = new EmployeeReplica(employeeRepo, new SimpleMeterRegistry());
+        employeeReplica.setEnabled(true);
+        List<ReplicaRow> rows = IntStream.rangeClosed(1, ROWS)
+                .mapToObj(id -> new ReplicaRow(id, 1000 + id, "Name " + id, id % 7 == 0 ? null : "Father " + id,
+                        id % 2 == 0 ? "F" : "M", "GEN", id % 10, 100 * id, id % 3 == 0 ? null : "SE", 0))
+                .toList();
+        when(employeeRepo.findReplicaRowsAfter(Integer.MIN_VALUE, Limit.of(10000))).thenReturn(rows);
+        employeeReplica.rebuild();
+    }
+
+    @Test
+    void testRebuild() {
+        assertTrue(employeeReplica.isReady());
+        assertEquals(ROWS, employeeReplica.size());
+        Employee employee = employeeReplica.findByEmpId(1007).orElseThrow();
+        assertEquals(7, employee.getId());
+        assertEquals("Name 7", employee.getEmpName());
+        assertNull(employee.getFatherName());
+        assertEquals("M", employee.getGender());
+        assertEquals(700, employee.getSalary());
+        assertEquals("SE", employee.getDesignation());
+        assertNull(employeeReplica.findByEmpId(1003).orElseThrow().getDesignation());
+        assertTrue(employeeReplica.findByEmpId(5).isEmpty());
+        assertEquals(ROWS, employeeReplica.findAllDtos().size());
+        assertTrue(employeeReplica.sizeInBytes() > 0);
+    }
+
+    @Test
+    void testScanByManagerAndLookupByIds() {
+        List<EmployeeDTO> reports = employeeReplica.findByManagerId(3);
+        assertEquals(ROWS / 10 + (ROWS % 10 >= 3 ? 1 : 0), reports.size());
+        assertTrue(reports.stream().allMatch(dto -> dto.getManager_id() == 3));
+        assertEquals(List.of(13, 3), employeeReplica.findDtosByIds(new int[]{13, -1, 3}).stream()
+                .map(EmployeeDTO::getId).toList());
+    }
+
+    @Test
+    void testChangesArePublishedWithoutDisturbingEarlierReads() {
+        List<Employee> before = employeeReplica.findAll();
+
+        employeeReplica.onEmployeeChanged(EmployeeChangedEvent.saved(employee(1, 1001, "Renamed", 3)));
+        employeeReplica.onEmployeeChanged(EmployeeChangedEvent.saved(employee(ROWS + 1, 9999, "New", 3)));
+        employeeReplica.onEmployeeChanged(EmployeeChangedEvent.deleted(2));
+
+        assertEquals("Name 1", before.get(0).getEmpName());
+        assertEquals("Renamed", employeeReplica.findByEmpId(1001).orElseThrow().getEmpName());
+        assertEquals(ROWS + 1, employeeReplica.findByEmpId(9999).orElseThrow().getId());
+        assertTrue(employeeReplica.findByEmpId(1002).isEmpty());
+        assertEquals(ROWS, employeeReplica.size());
+        // The last row was moved into the hole left by id 2.
+        assertEquals(ROWS + 1, employeeReplica.findAll().get(1).getId());
+    }
+
+    @Test
+    void testPatchIsIdempotent() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setVersion(0);
+        patch.setSalary(5);
+        patch.setFatherName("Patched");
+        employeeReplica.onEmployeeChanged(EmployeeChangedEvent.patched(1001, patch));
+        employeeReplica.onEmployeeChanged(EmployeeChangedEvent.patched(1001, patch));
+
+        Employee employee = employeeReplica.findByEmpId(1001).orElseThrow();
+        assertEquals(5, employee.getSalary());
+        assertEquals("Name 1", employee.getEmpName());
+        assertEquals("Patched", employee.getFatherName());
+        assertEquals(1, employee.getVersion());
+    }
+
+    @Test
+    void testDeleteAllBlocksAndClear() {
+        List<Integer> ids = new ArrayList<>(IntStream.rangeClosed(1, ROWS - 1).boxed().toList());
+        employeeReplica.onEmployeeChanged(EmployeeChangedEvent.deleted(ids));
+        assertEquals(1, employeeReplica.size());
+        assertEquals(ROWS, employeeReplica.findAll().get(0).getId());
+
+        employeeReplica.onEmployeeChanged(EmployeeChangedEvent.cleared());
+        assertEquals(0, employeeReplica.size());
+        assertTrue(employeeReplica.findAll().isEmpty());
+    }
+
+    @Test
+    void testDisabledReplicaIgnoresEvents() {
+        EmployeeReplica disabled = new EmployeeReplica(employeeRepo, new SimpleMeterRegistry());
+        disabled.onEmployeeChanged(EmployeeChangedEvent.saved(employee(1, 1001, "Name", 1)));
+        disabled.rebuild();
+        assertFalse(disabled.isReady());
+        assertEquals(0, disabled.size());
+    }
+
+    private Employee employee(int id, int empId, String name, int managerId) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmpId(empId);
+        employee.setEmpName(name);
+        employee.setManager_id(managerId);
+        employee.setSalary(1);
+        return employee;
+    }
+}
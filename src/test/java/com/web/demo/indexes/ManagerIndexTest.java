@@ -0,0 +1,79 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.ManagerLink;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ManagerIndexTest {
+
+    @Mock
+    private EmployeeRepo employeeRepo;
+
+    private ManagerIndex managerIndex;
+
+    @BeforeEach
+    void setUp() {
+        managerIndex = new ManagerIndex(employeeRepo, new SimpleMeterRegistry());
+        when(employeeRepo.findManagerLinksAfter(Integer.MIN_VALUE, Limit.of(10000)))
+                .thenReturn(List.of(new ManagerLink(1, 100), new ManagerLink(2, 100), new ManagerLink(3, 200)));
+        managerIndex.rebuild();
+    }
+
+    @Test
+    void testRebuild() {
+        assertTrue(managerIndex.isReady());
+        assertEquals(3, managerIndex.size());
+        assertEquals(2, managerIndex.managerCount());
+        assertArrayEquals(new int[]{1, 2}, sorted(managerIndex.reportsOf(100)));
+        assertEquals(0, managerIndex.reportsOf(999).length);
+    }
+
+    @Test
+    void testSaveMovesEmployeeBetweenManagers() {
+        managerIndex.onEmployeeChanged(EmployeeChangedEvent.saved(employee(2, 200)));
+        managerIndex.onEmployeeChanged(EmployeeChangedEvent.saved(employee(4, 300)));
+
+        assertArrayEquals(new int[]{1}, managerIndex.reportsOf(100));
+        assertArrayEquals(new int[]{2, 3}, sorted(managerIndex.reportsOf(200)));
+        assertArrayEquals(new int[]{4}, managerIndex.reportsOf(300));
+        assertEquals(4, managerIndex.size());
+    }
+
+    @Test
+    void testDeleteAndClear() {
+        managerIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(3));
+        assertEquals(0, managerIndex.reportsOf(200).length);
+        assertEquals(1, managerIndex.managerCount());
+
+        managerIndex.onEmployeeChanged(EmployeeChangedEvent.cleared());
+        assertEquals(0, managerIndex.size());
+        assertEquals(0, managerIndex.reportsOf(100).length);
+    }
+
+    private Employee employee(int id, int managerId) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setManager_id(managerId);
+        return employee;
+    }
+
+    private int[] sorted(int[] values) {
+        Arrays.sort(values);
+        return values;
+    }
+}
@@ -0,0 +1,166 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.NameRow;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NameSearchIndexTest {
+
+    @Mock
+    private EmployeeRepo employeeRepo;
+
+    private NameSearchIndex nameSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        nameSearchIndex = new NameSearchIndex(employeeRepo, new SimpleMeterRegistry());
+        when(employeeRepo.findNameRowsAfter(Integer.MIN_VALUE, Limit.of(10000))).thenReturn(List.of(
+                new NameRow(1, 101, "Hari Prasad", "Ramesh Kumar"),
+                new NameRow(2, 102, "Harish Rao", "Suresh"),
+                new NameRow(3, 103, "José Kumar", "Hari Kumar"),
+                new NameRow(4, 104, "Priya", null)));
+        nameSearchIndex.rebuild();
+    }
+
+    @Test
+    void testExactRanksAbovePrefix() {
+        assertTrue(nameSearchIndex.isReady());
+        assertEquals(4, nameSearchIndex.size());
+        assertTrue(nameSearchIndex.sizeInBytes() > 0);
+        assertArrayEquals(new int[]{101, 103, 102}, nameSearchIndex.search("Hari", false, 10));
+        assertArrayEquals(new int[]{101}, nameSearchIndex.search("Hari", false, 1));
+        assertArrayEquals(new int[]{101, 102, 103}, nameSearchIndex.search("ha", false, 10));
+    }
+
+    @Test
+    void testEveryWordMustMatch() {
+        assertArrayEquals(new int[]{101, 103}, nameSearchIndex.search("kumar har", false, 10));
+        assertArrayEquals(new int[]{103}, nameSearchIndex.search("JOSE  kum", false, 10));
+        assertArrayEquals(new int[0], nameSearchIndex.search("priya kumar", false, 10));
+    }
+
+    @Test
+    void testFuzzyToleratesTypos() {
+        assertArrayEquals(new int[0], nameSearchIndex.search("suersh", false, 10));
+        assertArrayEquals(new int[]{102}, nameSearchIndex.search("suersh", true, 10));
+        assertArrayEquals(new int[]{101, 103}, nameSearchIndex.search("kumra", true, 10));
+        assertArrayEquals(new int[]{101}, nameSearchIndex.search("ramesh kumra", true, 10));
+        assertArrayEquals(new int[]{104}, nameSearchIndex.search("pirya", true, 10));
+    }
+
+    @Test
+    void testChangesAreIndexed() {
+        Employee employee = new Employee();
+        employee.setId(5);
+        employee.setEmpId(105);
+        employee.setEmpName("Anand");
+        employee.setFatherName("Hariharan");
+        nameSearchIndex.onEmployeeChanged(EmployeeChangedEvent.saved(employee));
+        assertArrayEquals(new int[]{105}, nameSearchIndex.search("anand harih", false, 10));
+
+        EmployeePatch patch = new EmployeePatch();
+        patch.setEmpName("Suresh Babu");
+        nameSearchIndex.onEmployeeChanged(EmployeeChangedEvent.patched(104, patch));
+        assertArrayEquals(new int[0], nameSearchIndex.search("priya", true, 10));
+        assertArrayEquals(new int[]{102, 104}, nameSearchIndex.search("suresh", false, 10));
+
+        nameSearchIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(List.of(2, 4)));
+        assertArrayEquals(new int[0], nameSearchIndex.search("suresh", true, 10));
+        assertEquals(3, nameSearchIndex.size());
+
+        nameSearchIndex.onEmployeeChanged(EmployeeChangedEvent.cleared());
+        assertArrayEquals(new int[0], nameSearchIndex.search("hari", true, 10));
+    }
+
+    @Test
+    void testRejectsQueriesWithoutWords() {
+        assertThrows(IllegalArgumentException.class, () -> nameSearchIndex.search(" -. ", true, 10));
+        assertThrows(IllegalArgumentException.class, () -> nameSearchIndex.search("a b c d e f", true, 10));
+    }
+
+    @Test
+    void testTermsAreFoldedWords() {
+        assertEquals(List.of("jose", "kumar"), NameSearchIndex.terms("José  KUMAR-josé"));
+        assertEquals(List.of(), NameSearchIndex.terms(null));
+    }
+
+    @Test
+    void testFuzzyMatchesEveryTermWithinReach() {
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        List<NameRow> rows = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            String name = randomWord(random);
+            names.add(name);
+            rows.add(new NameRow(id, id, name, null));
+        }
+        when(employeeRepo.findNameRowsAfter(Integer.MIN_VALUE, Limit.of(10000))).thenReturn(rows);
+        nameSearchIndex.rebuild();
+
+        int matched = 0;
+        for (int i = 0; i < 300; i++) {
+            String query = randomWord(random);
+            if (query.length() < 3 || names.stream().anyMatch(name -> name.startsWith(query))) {
+                continue;
+            }
+            int maxEdits = query.length() <= 5 ? 1 : 2;
+            int[] expected = IntStream.range(0, names.size())
+                    .filter(n -> distance(query, names.get(n)) <= maxEdits)
+                    .map(n -> n + 1)
+                    .toArray();
+            int[] found = nameSearchIndex.search(query, true, 100);
+            Arrays.sort(found);
+            assertArrayEquals(expected, found, query);
+            matched += expected.length;
+        }
+        assertTrue(matched > 0);
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[1 + random.nextInt(8)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(word);
+    }
+
+    /**
+     * Optimal string alignment distance over the whole table.
+     */
+    private static int distance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                    continue;
+                }
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,115 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.OrgLink;
+import com.web.demo.dtos.OrgTreeNode;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrgTreeIndexTest {
+
+    @Mock
+    private EmployeeRepo employeeRepo;
+
+    private OrgTreeIndex orgTreeIndex;
+
+    @BeforeEach
+    void setUp() {
+        orgTreeIndex = new OrgTreeIndex(employeeRepo, new SimpleMeterRegistry());
+        // 10 is the root; 11 and 12 report to 10; 13 reports to 11.
+        when(employeeRepo.findOrgLinksAfter(Integer.MIN_VALUE, Limit.of(10000))).thenReturn(List.of(
+                new OrgLink(1, 10, 0, 100),
+                new OrgLink(2, 11, 10, 50),
+                new OrgLink(3, 12, 10, 40),
+                new OrgLink(4, 13, 11, 30)));
+        orgTreeIndex.rebuild();
+    }
+
+    @Test
+    void testAggregatesAfterRebuild() {
+        OrgTreeNode root = orgTreeIndex.subtree(10, 5);
+        assertEquals(3, root.getHeadcount());
+        assertEquals(120, root.getTotalSalary());
+        assertEquals(2, root.getReports().size());
+
+        OrgTreeNode placeholder = orgTreeIndex.subtree(0, 0);
+        assertEquals(4, placeholder.getHeadcount());
+        assertEquals(220, placeholder.getTotalSalary());
+        assertTrue(placeholder.isTruncated());
+    }
+
+    @Test
+    void testSalaryChangeAndMovePropagateToAncestors() {
+        orgTreeIndex.onEmployeeChanged(EmployeeChangedEvent.saved(employee(4, 13, 11, 60)));
+        assertEquals(150, orgTreeIndex.subtree(10, 0).getTotalSalary());
+
+        // Move 11 (and 13 with it) under 12.
+        orgTreeIndex.onEmployeeChanged(EmployeeChangedEvent.saved(employee(2, 11, 12, 50)));
+        OrgTreeNode twelve = orgTreeIndex.subtree(12, 0);
+        assertEquals(2, twelve.getHeadcount());
+        assertEquals(110, twelve.getTotalSalary());
+        assertEquals(3, orgTreeIndex.subtree(10, 0).getHeadcount());
+        assertEquals(1, orgTreeIndex.subtree(10, 1).getReports().size());
+    }
+
+    @Test
+    void testPatchedSalaryPropagatesToAncestors() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setVersion(0);
+        patch.setSalary(70);
+        orgTreeIndex.onEmployeeChanged(EmployeeChangedEvent.patched(13, patch));
+        assertEquals(160, orgTreeIndex.subtree(10, 0).getTotalSalary());
+        assertEquals(70, orgTreeIndex.subtree(11, 0).getTotalSalary());
+
+        patch.setSalary(null);
+        patch.setEmpName("Renamed");
+        orgTreeIndex.onEmployeeChanged(EmployeeChangedEvent.patched(13, patch));
+        assertEquals(160, orgTreeIndex.subtree(10, 0).getTotalSalary());
+    }
+
+    @Test
+    void testDeleteAndInsert() {
+        orgTreeIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(2));
+        assertEquals(1, orgTreeIndex.subtree(10, 0).getHeadcount());
+        assertEquals(40, orgTreeIndex.subtree(10, 0).getTotalSalary());
+        // 13 still reports to the deleted emp_id 11.
+        assertEquals(1, orgTreeIndex.subtree(11, 0).getHeadcount());
+
+        orgTreeIndex.onEmployeeChanged(EmployeeChangedEvent.saved(employee(5, 14, 12, 25)));
+        assertEquals(2, orgTreeIndex.subtree(10, 0).getHeadcount());
+        assertEquals(65, orgTreeIndex.subtree(10, 0).getTotalSalary());
+
+        orgTreeIndex.onEmployeeChanged(EmployeeChangedEvent.cleared());
+        assertNull(orgTreeIndex.subtree(10, 0));
+    }
+
+    @Test
+    void testCycleIsNotFollowed() {
+        orgTreeIndex.onEmployeeChanged(EmployeeChangedEvent.saved(employee(1, 10, 13, 100)));
+        OrgTreeNode root = orgTreeIndex.subtree(10, 5);
+        assertEquals(3, root.getHeadcount());
+    }
+
+    private Employee employee(int id, int empId, int managerId, int salary) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmpId(empId);
+        employee.setManager_id(managerId);
+        employee.setSalary(salary);
+        return employee;
+    }
+}
@@ -0,0 +1,125 @@
+package com.web.demo.indexes;
+
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.SalaryStats;
+import com.web.demo.dtos.SalaryStats.GroupBy;
+import com.web.demo.dtos.StatsRow;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryStatsIndexTest {
+
+    @Mock
+    private EmployeeRepo employeeRepo;
+
+    private SalaryStatsIndex salaryStatsIndex;
+
+    @BeforeEach
+    void setUp() {
+        salaryStatsIndex = new SalaryStatsIndex(employeeRepo, new SimpleMeterRegistry());
+        when(employeeRepo.findStatsRowsAfter(Integer.MIN_VALUE, Limit.of(10000))).thenReturn(List.of(
+                new StatsRow(1, 101, "SE", "A", "M", 100, 1000),
+                new StatsRow(2, 102, "SE", "B", "F", 100, 3000),
+                new StatsRow(3, 103, "TL", "A", null, 200, 5000)));
+        salaryStatsIndex.rebuild();
+    }
+
+    @Test
+    void testRebuild() {
+        assertTrue(salaryStatsIndex.isReady());
+        assertEquals(3, salaryStatsIndex.size());
+        SalaryStats se = byGroup(GroupBy.DESIGNATION).get("SE");
+        assertEquals(2, se.getCount());
+        assertEquals(4000, se.getTotalSalary());
+        assertEquals(1000, se.getMinSalary());
+        assertEquals(3000, se.getMaxSalary());
+        assertEquals(2000.0, se.getMeanSalary());
+        assertEquals(1, byGroup(GroupBy.GENDER).get(null).getCount());
+        assertEquals(2, byGroup(GroupBy.MANAGER_ID).get("100").getCount());
+    }
+
+    @Test
+    void testSaveMovesRowBetweenGroups() {
+        salaryStatsIndex.onEmployeeChanged(EmployeeChangedEvent.saved(employee(2, 102, "TL", 4000)));
+        salaryStatsIndex.onEmployeeChanged(EmployeeChangedEvent.saved(employee(4, 104, "SE", 500)));
+
+        Map<String, SalaryStats> stats = byGroup(GroupBy.DESIGNATION);
+        assertEquals(2, stats.get("SE").getCount());
+        assertEquals(500, stats.get("SE").getMinSalary());
+        assertEquals(1000, stats.get("SE").getMaxSalary());
+        assertEquals(9000, stats.get("TL").getTotalSalary());
+        assertEquals(4000, stats.get("TL").getMinSalary());
+        assertEquals(4, salaryStatsIndex.size());
+    }
+
+    @Test
+    void testDeleteRecomputesExtremes() {
+        salaryStatsIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(1));
+
+        SalaryStats a = byGroup(GroupBy.CATEGORY).get("A");
+        assertEquals(1, a.getCount());
+        assertEquals(5000, a.getMinSalary());
+        assertFalse(byGroup(GroupBy.GENDER).containsKey("M"));
+
+        salaryStatsIndex.onEmployeeChanged(EmployeeChangedEvent.cleared());
+        assertTrue(salaryStatsIndex.stats(GroupBy.DESIGNATION).isEmpty());
+    }
+
+    @Test
+    void testPatchByEmpId() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setSalary(7000);
+        salaryStatsIndex.onEmployeeChanged(EmployeeChangedEvent.patched(101, patch));
+
+        SalaryStats se = byGroup(GroupBy.DESIGNATION).get("SE");
+        assertEquals(10000, se.getTotalSalary());
+        assertEquals(3000, se.getMinSalary());
+        assertEquals(7000, se.getMaxSalary());
+    }
+
+    @Test
+    void testParallelAggregationMatchesSequential() {
+        ReflectionTestUtils.setField(salaryStatsIndex, "parallelThreshold", 1);
+        salaryStatsIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(3));
+
+        Map<String, SalaryStats> stats = byGroup(GroupBy.MANAGER_ID);
+        assertEquals(1000, stats.get("100").getMinSalary());
+        assertEquals(3000, stats.get("100").getMaxSalary());
+        assertFalse(stats.containsKey("200"));
+    }
+
+    private Map<String, SalaryStats> byGroup(GroupBy groupBy) {
+        Map<String, SalaryStats> stats = new HashMap<>();
+        salaryStatsIndex.stats(groupBy).forEach(s -> stats.put(s.getGroup(), s));
+        return stats;
+    }
+
+    private Employee employee(int id, int empId, String designation, int salary) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmpId(empId);
+        employee.setDesignation(designation);
+        employee.setCategory("A");
+        employee.setGender("M");
+        employee.setManager_id(100);
+        employee.setSalary(salary);
+        return employee;
+    }
+}
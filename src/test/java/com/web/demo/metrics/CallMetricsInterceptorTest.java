@@ -0,0 +1,120 @@
+package com.web.demo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallMetricsInterceptorTest {
+
+    interface Lookup {
+        List<String> all();
+
+        Slice<String> slice();
+
+        Optional<String> one(boolean present);
+
+        String fail();
+
+        Flux<String> stream();
+
+        Mono<String> lookup(boolean fail);
+    }
+
+    static class LookupImpl implements Lookup {
+        @Override
+        public List<String> all() {
+            return List.of("a", "b", "c");
+        }
+
+        @Override
+        public Slice<String> slice() {
+            return new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+        }
+
+        @Override
+        public Optional<String> one(boolean present) {
+            return present ? Optional.of("a") : Optional.empty();
+        }
+
+        @Override
+        public String fail() {
+            throw new IllegalStateException("boom");
+        }
+
+        @Override
+        public Flux<String> stream() {
+            return Flux.just("a", "b", "c");
+        }
+
+        @Override
+        public Mono<String> lookup(boolean fail) {
+            return fail ? Mono.error(new IllegalStateException("boom")) : Mono.just("a");
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testRecordsLatencyAndRowsPerMethod() {
+        Lookup lookup = proxy();
+
+        lookup.all();
+        lookup.all();
+        lookup.slice();
+        lookup.one(true);
+        lookup.one(false);
+
+        assertEquals(2, registry.get("employee.calls").tags("method", "all", "outcome", "SUCCESS").timer().count());
+        assertEquals(6.0, registry.get("employee.call.rows").tag("method", "all").summary().totalAmount());
+        assertEquals(2.0, registry.get("employee.call.rows").tag("method", "slice").summary().totalAmount());
+        assertEquals(1.0, registry.get("employee.call.rows").tag("method", "one").summary().totalAmount());
+        assertEquals("LookupImpl", registry.get("employee.calls").tag("method", "all").timer().getId().getTag("class"));
+    }
+
+    @Test
+    void testFailuresAreTimedSeparatelyWithoutRows() {
+        Lookup lookup = proxy();
+
+        assertThrows(IllegalStateException.class, lookup::fail);
+
+        assertEquals(1, registry.get("employee.calls").tags("method", "fail", "outcome", "ERROR").timer().count());
+        assertNull(registry.find("employee.call.rows").tag("method", "fail").summary());
+    }
+
+    @Test
+    void testPublishersAreMeasuredWhenTheyComplete() {
+        Lookup lookup = proxy();
+
+        Flux<String> stream = lookup.stream();
+        assertEquals(0, registry.get("employee.calls").tag("method", "stream").timer().count());
+        assertEquals(List.of("a", "b", "c"), stream.collectList().block());
+        assertEquals("a", lookup.lookup(false).block());
+        assertThrows(IllegalStateException.class, () -> lookup.lookup(true).block());
+
+        assertEquals(1, registry.get("employee.calls").tags("method", "stream", "outcome", "SUCCESS").timer().count());
+        assertEquals(3.0, registry.get("employee.call.rows").tag("method", "stream").summary().totalAmount());
+        assertEquals(1.0, registry.get("employee.call.rows").tag("method", "lookup").summary().totalAmount());
+        assertEquals(1, registry.get("employee.calls").tags("method", "lookup", "outcome", "ERROR").timer().count());
+    }
+
+    private Lookup proxy() {
+        ProxyFactory factory = new ProxyFactory(new LookupImpl());
+        factory.addInterface(Lookup.class);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", registry);
+        factory.addAdvice(new CallMetricsInterceptor("service", null, beanFactory.getBeanProvider(MeterRegistry.class)));
+        return (Lookup) factory.getProxy();
+    }
+}
@@ -0,0 +1,39 @@
+package com.web.demo.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(registry, 50);
+
+    @Test
+    void testRecordsStatementsAndBytesPerEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/emp/7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+        StatementTracker.record("select outside any request", true);
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/emp/{id}");
+            StatementTracker.record("select * from employee_data where emp_id = ?", true);
+            StatementTracker.record("select * from employee_data where emp_id = ?", true);
+            res.getOutputStream().write("{\"id\":7}".getBytes(StandardCharsets.UTF_8));
+            res.getWriter().write("é");
+        });
+
+        assertEquals("{\"id\":7}é", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(2.0, registry.get("employee.http.jdbc.statements").tags("method", "GET", "uri", "/emp/{id}")
+                .summary().totalAmount());
+        assertEquals(10.0, registry.get("employee.http.response.bytes").tags("method", "GET", "uri", "/emp/{id}")
+                .summary().totalAmount());
+    }
+}
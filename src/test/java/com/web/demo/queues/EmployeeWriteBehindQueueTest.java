@@ -0,0 +1,204 @@
+package com.web.demo.queues;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.demo.dtos.EmployeeWrite;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.exceptions.WriteBehindQueueFullException;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeIdAllocator;
+import com.web.demo.repos.EmployeeRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeWriteBehindQueueTest {
+
+    @Mock
+    private EmployeeRepo employeeRepo;
+
+    @Mock
+    private EmployeeIdAllocator idAllocator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<EmployeeWriteBehindQueue> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (EmployeeWriteBehindQueue queue : started) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void testWritesAreCoalescedPerEmpIdAndFlushedOnce() {
+        EmployeeWriteBehindQueue queue = startQueue();
+        Employee stored = employee(101, "Old", 500);
+        when(employeeRepo.findAllByEmpIdIn(List.of(101))).thenReturn(List.of(stored));
+
+        queue.enqueue(EmployeeWrite.created(employee(101, "First", 1000)));
+        queue.enqueue(EmployeeWrite.renamed(101, employee(0, "Second", 0)));
+        assertEquals(1, queue.depth());
+
+        assertEquals(1, queue.flush());
+        assertEquals("Second", stored.getEmpName());
+        assertEquals(1000, stored.getSalary());
+        assertEquals(0, queue.depth());
+        verify(entityManager, never()).persist(any());
+        ArgumentCaptor<EmployeeChangedEvent> event = ArgumentCaptor.forClass(EmployeeChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(stored), event.getValue().getEmployees());
+        assertEquals(0.5, meterRegistry.get("employee.write-behind.coalescing.ratio").gauge().value());
+    }
+
+    @Test
+    void testMissingEmployeeIsInsertedWithAllocatedId() {
+        EmployeeWriteBehindQueue queue = startQueue();
+        when(employeeRepo.findAllByEmpIdIn(List.of(102))).thenReturn(List.of());
+        when(idAllocator.nextId()).thenReturn(7);
+
+        queue.enqueue(EmployeeWrite.renamed(102, employee(0, "New", 2000)));
+        queue.flush();
+
+        ArgumentCaptor<Employee> inserted = ArgumentCaptor.forClass(Employee.class);
+        verify(entityManager).persist(inserted.capture());
+        assertEquals(7, inserted.getValue().getId());
+        assertEquals(102, inserted.getValue().getEmpId());
+        assertEquals(2000, inserted.getValue().getSalary());
+    }
+
+    @Test
+    void testNewEmployeesAreRejectedWhenFull() {
+        EmployeeWriteBehindQueue queue = startQueue();
+        queue.setCapacity(1);
+
+        queue.enqueue(EmployeeWrite.created(employee(101, "A", 1)));
+        queue.enqueue(EmployeeWrite.created(employee(101, "B", 1)));
+
+        assertThrows(WriteBehindQueueFullException.class,
+                () -> queue.enqueue(EmployeeWrite.created(employee(102, "C", 1))));
+        assertEquals(1, queue.depth());
+        assertEquals(1.0, meterRegistry.get("employee.write-behind.rejected").counter().count());
+    }
+
+    @Test
+    void testUnflushedWritesAreReplayedFromTheJournal() throws Exception {
+        EmployeeWriteBehindQueue crashed = startQueue();
+        crashed.enqueue(EmployeeWrite.created(employee(101, "A", 1)));
+        crashed.enqueue(EmployeeWrite.created(employee(102, "B", 2)));
+        crashed.enqueue(EmployeeWrite.renamed(101, employee(0, "C", 0)));
+        started.remove(crashed);
+
+        EmployeeWriteBehindQueue restarted = startQueue();
+
+        assertEquals(2, restarted.depth());
+        when(employeeRepo.findAllByEmpIdIn(List.of(101, 102)))
+                .thenReturn(List.of(employee(101, "A", 1), employee(102, "B", 2)));
+        assertEquals(2, restarted.flush());
+        assertEquals(0, Files.size(tempDir.resolve("journal")));
+    }
+
+    @Test
+    void testFailedFlushKeepsWritesPending() {
+        EmployeeWriteBehindQueue queue = startQueue();
+        when(employeeRepo.findAllByEmpIdIn(List.of(101))).thenThrow(new IllegalStateException("database down"));
+
+        queue.enqueue(EmployeeWrite.created(employee(101, "A", 1)));
+
+        assertEquals(0, queue.flush());
+        assertEquals(1, queue.depth());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testEachTransactionWritesAtMostOneBatch() {
+        EmployeeWriteBehindQueue queue = startQueue();
+        for (int empId = 101; empId <= 105; empId++) {
+            queue.enqueue(EmployeeWrite.created(employee(empId, "E" + empId, 1)));
+        }
+        // Set only now, so enqueue does not start a background flush.
+        queue.setBatchSize(2);
+
+        assertEquals(5, queue.flush());
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(employeeRepo).findAllByEmpIdIn(List.of(101, 102));
+        verify(employeeRepo).findAllByEmpIdIn(List.of(105));
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void testWriteIsDeadLetteredAfterMaxAttempts() throws Exception {
+        EmployeeWriteBehindQueue queue = startQueue();
+        queue.setMaxAttempts(2);
+        when(employeeRepo.findAllByEmpIdIn(List.of(101))).thenThrow(new IllegalStateException("database down"));
+
+        queue.enqueue(EmployeeWrite.created(employee(101, "A", 1)));
+        queue.flush();
+        assertEquals(1, queue.depth());
+        queue.flush();
+
+        assertEquals(0, queue.depth());
+        assertEquals(1.0, meterRegistry.get("employee.write-behind.dead-lettered").counter().count());
+        assertEquals(1, Files.readAllLines(tempDir.resolve("dead-letter")).size());
+        assertEquals(0, Files.size(tempDir.resolve("journal")));
+    }
+
+    private EmployeeWriteBehindQueue startQueue() {
+        EmployeeWriteBehindQueue queue = new EmployeeWriteBehindQueue(employeeRepo, idAllocator, entityManager,
+                transactionTemplate, eventPublisher, new ObjectMapper(), meterRegistry);
+        queue.setEnabled(true);
+        queue.setFlushInterval(Duration.ofHours(1));
+        queue.setFsync(false);
+        queue.setJournalPath(tempDir.resolve("journal").toString());
+        queue.setDeadLetterPath(tempDir.resolve("dead-letter").toString());
+        queue.start();
+        started.add(queue);
+        return queue;
+    }
+
+    private Employee employee(int empId, String name, int salary) {
+        Employee employee = new Employee();
+        employee.setEmpId(empId);
+        employee.setEmpName(name);
+        employee.setSalary(salary);
+        return employee;
+    }
+}
@@ -0,0 +1,178 @@
+package com.web.demo.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.web.demo.dtos.ImportReport;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.EmployeeIdAllocator;
+import com.web.demo.repos.EmployeeRepo;
+import com.web.demo.services.EmployeeImportService.Format;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceImplTest {
+
+    @Mock
+    private EmployeeRepo employeeRepo;
+
+    @Mock
+    private EmployeeIdAllocator idAllocator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EmployeeImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new EmployeeImportServiceImpl(employeeRepo, idAllocator, entityManager, transactionTemplate,
+                eventPublisher, new ObjectMapper());
+        importService.setChunkSize(2);
+        importService.setCommitInterval(2);
+    }
+
+    @Test
+    void testImportUpdatesExistingRowsInChunks() {
+        runTransactionsInline();
+        when(employeeRepo.findAllByEmpIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> empIds = invocation.getArgument(0);
+            return empIds.stream().filter(empId -> empId != 104).map(this::employee).toList();
+        });
+
+        ImportReport report = importService.importSalaryUpdates(json("""
+                [{"empId":101,"salary":1000,"designation":"A"},
+                 {"empId":102,"salary":2000,"designation":"B"},
+                 {"empId":103,"salary":3000,"designation":"C"},
+                 {"empId":104,"salary":4000,"designation":"D"},
+                 {"empId":105,"salary":5000,"designation":"E"}]
+                """));
+
+        assertEquals(5, report.getRowsRead());
+        assertEquals(4, report.getRowsWritten());
+        assertEquals(1, report.getRowsSkipped());
+        assertEquals(0, report.getRowsFailed());
+        assertEquals(3, report.getChunks().size());
+        verify(employeeRepo, times(3)).findAllByEmpIdIn(anyCollection());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(entityManager, times(3)).flush();
+        verify(eventPublisher, times(3)).publishEvent(any(EmployeeChangedEvent.class));
+        verify(employeeRepo, never()).save(any());
+    }
+
+    @Test
+    void testFailedTransactionIsReportedPerChunk() {
+        doThrow(new DataIntegrityViolationException("boom")).when(transactionTemplate).executeWithoutResult(any());
+
+        ImportReport report = importService.importSalaryUpdates(json("""
+                {"empId":101,"salary":1000}
+                {"empId":102,"salary":2000}
+                {"empId":103,"salary":3000}
+                """));
+
+        assertEquals(3, report.getRowsRead());
+        assertEquals(3, report.getRowsFailed());
+        assertEquals(0, report.getRowsWritten());
+        assertEquals(2, report.getChunks().size());
+        assertEquals("boom", report.getChunks().get(0).getError());
+    }
+
+    @Test
+    void testMalformedInputIsReported() {
+        runTransactionsInline();
+        when(employeeRepo.findAllByEmpIdIn(anyCollection())).thenReturn(List.of(employee(101)));
+
+        ImportReport report = importService.importSalaryUpdates(json("[{\"empId\":101,\"salary\":1}, {\"empId\":"));
+
+        assertEquals(1, report.getRowsRead());
+        assertEquals(1, report.getRowsWritten());
+        assertEquals(1, report.getErrors().size());
+    }
+
+    @Test
+    void testBulkNdjsonInsertsWithPerLineErrors() {
+        runTransactionsInline();
+        when(employeeRepo.findExistingEmpIds(anyCollection())).thenReturn(List.of(102));
+        when(idAllocator.nextId()).thenReturn(5000, 5001);
+
+        ImportReport report = importService.importNewEmployees(json("""
+                {"empId":101,"empName":"A"}
+                {"empId":102,"empName":"Existing"}
+
+                {"empId":103,"empName":""}
+                not json
+                {"empId":104,"empName":"B","id":77}
+                """), Format.NDJSON);
+
+        assertEquals(5, report.getRowsRead());
+        assertEquals(2, report.getRowsWritten());
+        assertEquals(3, report.getRowsFailed());
+        assertEquals(0, report.getRowsSkipped());
+        assertEquals(List.of(2L, 4L, 5L), report.getLineErrors().stream().map(e -> e.getLine()).sorted().toList());
+        verify(entityManager, times(2)).persist(any(Employee.class));
+        verify(employeeRepo, never()).save(any());
+        verify(idAllocator, times(1)).nextId();
+    }
+
+    @Test
+    void testBulkCsvInsert() {
+        runTransactionsInline();
+        when(employeeRepo.findExistingEmpIds(anyCollection())).thenReturn(List.of());
+        when(idAllocator.nextId()).thenReturn(5000, 5001, 5002);
+
+        ImportReport report = importService.importNewEmployees(json("""
+                empId,empName,manager_id,salary
+                101,A,10,1000
+                102,B,10,abc
+                103,"C, Jr",10,3000
+                """), Format.CSV);
+
+        assertEquals(3, report.getRowsRead());
+        assertEquals(2, report.getRowsWritten());
+        assertEquals(1, report.getLineErrors().size());
+        assertEquals(3, report.getLineErrors().get(0).getLine());
+        verify(entityManager).persist(argThat((Employee e) -> "C, Jr".equals(e.getEmpName()) && e.getSalary() == 3000));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private Employee employee(int empId) {
+        Employee employee = new Employee();
+        employee.setId(empId - 100);
+        employee.setEmpId(empId);
+        return employee;
+    }
+
+    private ByteArrayInputStream json(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,24 +1,42 @@
 package com.web.demo.services;
 
+import com.web.demo.caches.EmployeeCache;
 import com.web.demo.dtos.EmployeeDTO;
+import com.web.demo.dtos.EmployeePage;
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.dtos.OrgTreeNode;
+import com.web.demo.dtos.SalaryStats;
+import com.web.demo.events.EmployeeChangedEvent;
 import com.web.demo.exceptions.EmployeeNotFoundException;
+import com.web.demo.exceptions.EmployeeVersionConflictException;
+import com.web.demo.exceptions.IndexNotReadyException;
+import com.web.demo.indexes.EmployeeReplica;
+import com.web.demo.indexes.ManagerIndex;
+import com.web.demo.indexes.NameSearchIndex;
+import com.web.demo.indexes.OrgTreeIndex;
+import com.web.demo.indexes.SalaryStatsIndex;
 import com.web.demo.models.Employee;
 import com.web.demo.repos.EmployeeRepo;
 import com.web.demo.utils.EmployeeUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +48,31 @@ class EmployeeServiceImplTest {
     @Mock
     private EmployeeRepo employeeRepo;
 
+    @Mock
+    private ManagerIndex managerIndex;
+
+    @Mock
+    private OrgTreeIndex orgTreeIndex;
+
+    @Mock
+    private SalaryStatsIndex salaryStatsIndex;
+
+    @Mock
+    private NameSearchIndex nameSearchIndex;
+
+    @Mock
+    private EmployeeReplica employeeReplica;
+
+    @Mock
+    private EmployeeImportService employeeImportService;
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(new SimpleMeterRegistry(), 1000,
+            Duration.ofMinutes(10), Duration.ofSeconds(30));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -67,6 +110,44 @@ class EmployeeServiceImplTest {
         assertEquals(1, employees.size());
     }
 
+    @Test
+    void testFindPage_ReturnsNextCursorWhenPageIsFull() {
+        when(employeeRepo.findByIdGreaterThanOrderByIdAsc(Integer.MIN_VALUE, Limit.of(2)))
+                .thenReturn(mockEmployees.subList(0, 2));
+        EmployeePage page = employeeService.findPage(null, 2);
+        assertEquals(2, page.getItems().size());
+        assertEquals(2, EmployeeUtils.decodeCursor(page.getNextCursor()));
+
+        when(employeeRepo.findByIdGreaterThanOrderByIdAsc(2, Limit.of(2)))
+                .thenReturn(mockEmployees.subList(2, 3));
+        EmployeePage last = employeeService.findPage(page.getNextCursor(), 2);
+        assertEquals(1, last.getItems().size());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void testFindPage_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.findPage("not-a-cursor", 10));
+        verify(employeeRepo, never()).findByIdGreaterThanOrderByIdAsc(anyInt(), any());
+    }
+
+    @Test
+    void testStreamAll_PagesByKey() {
+        employeeService.setStreamPageSize(400);
+        when(employeeRepo.findByIdGreaterThanOrderByIdAsc(Integer.MIN_VALUE, Limit.of(400)))
+                .thenReturn(mockEmployees.subList(0, 400));
+        when(employeeRepo.findByIdGreaterThanOrderByIdAsc(400, Limit.of(400)))
+                .thenReturn(mockEmployees.subList(400, 800));
+        when(employeeRepo.findByIdGreaterThanOrderByIdAsc(800, Limit.of(400)))
+                .thenReturn(mockEmployees.subList(800, 1000));
+
+        List<Integer> pageSizes = new ArrayList<>();
+        employeeService.streamAll(page -> pageSizes.add(page.size()));
+
+        assertEquals(List.of(400, 400, 200), pageSizes);
+        verify(employeeRepo, never()).findAll();
+    }
+
     @Test
     void testFindAllByEmpId() {
         when(employeeRepo.findAllByEmpId(101)).thenReturn(Optional.of(employee));
@@ -75,6 +156,36 @@ class EmployeeServiceImplTest {
         assertEquals("Hari Duddukunta", found.get().getEmpName());
     }
 
+    @Test
+    void testFindByEmpId_ServedFromCacheUntilInvalidated() {
+        when(employeeRepo.findAllByEmpId(101)).thenReturn(Optional.of(employee));
+        employeeService.findByEmpId(101);
+        employeeService.findByEmpId(101);
+        assertEquals("Hari Duddukunta", employeeService.getEmployeeById(101).getEmpName());
+        verify(employeeRepo, times(1)).findAllByEmpId(101);
+        verify(employeeRepo, never()).findByEmpId(101);
+
+        employeeCache.onEmployeeChanged(EmployeeChangedEvent.deleted(employee.getId()));
+        employeeService.findByEmpId(101);
+        verify(employeeRepo, times(2)).findAllByEmpId(101);
+    }
+
+    @Test
+    void testFindByEmpId_CachesMisses() {
+        when(employeeRepo.findAllByEmpId(404)).thenReturn(Optional.empty());
+        assertTrue(employeeService.findByEmpId(404).isEmpty());
+        assertTrue(employeeService.findByEmpId(404).isEmpty());
+        verify(employeeRepo, times(1)).findAllByEmpId(404);
+
+        Employee created = new Employee();
+        created.setId(404);
+        created.setEmpId(404);
+        employeeCache.onEmployeeChanged(EmployeeChangedEvent.saved(created));
+        when(employeeRepo.findAllByEmpId(404)).thenReturn(Optional.of(created));
+        assertTrue(employeeService.findByEmpId(404).isPresent());
+        assertEquals(1, employeeCache.stats().hitCount());
+    }
+
     @Test
     void testCreateEmployee() {
         when(employeeRepo.save(employee)).thenReturn(employee);
@@ -93,16 +204,50 @@ class EmployeeServiceImplTest {
 
     @Test
     void testDeleteById() {
-        doNothing().when(employeeRepo).deleteById(101);
+        when(employeeRepo.deleteRowsByIdIn(List.of(101))).thenReturn(1);
         employeeService.deleteById(101);
-        verify(employeeRepo, times(1)).deleteById(101);
+        verify(employeeRepo, never()).deleteById(anyInt());
+        verify(eventPublisher).publishEvent(argThat((EmployeeChangedEvent event) ->
+                event.getType() == EmployeeChangedEvent.Type.DELETED && event.getIds().equals(List.of(101))));
+
+        // Nothing to delete, nothing to tell the caches.
+        employeeService.deleteById(102);
+        verifyNoMoreInteractions(eventPublisher);
     }
 
     @Test
     void testDeleteAll() {
-        doNothing().when(employeeRepo).deleteAll();
         employeeService.deleteAll();
-        verify(employeeRepo, times(1)).deleteAll();
+        verify(employeeRepo, times(1)).deleteAllRows();
+        verify(employeeRepo, never()).deleteAll();
+        verify(eventPublisher).publishEvent(argThat((EmployeeChangedEvent event) ->
+                event.getType() == EmployeeChangedEvent.Type.CLEARED));
+    }
+
+    @Test
+    void testDeleteByEmpIdsDeletesTheLookedUpPrimaryKeys() {
+        when(employeeRepo.findIdsByEmpIdIn(List.of(101, 102, 103))).thenReturn(List.of(1, 2));
+        when(employeeRepo.deleteRowsByIdIn(List.of(1, 2))).thenReturn(2);
+
+        assertEquals(2, employeeService.deleteByEmpIds(List.of(101, 102, 101, 103)));
+        verify(eventPublisher).publishEvent(argThat((EmployeeChangedEvent event) ->
+                event.getIds().equals(List.of(1, 2))));
+    }
+
+    @Test
+    void testDeleteIdRangeDeletesAPageAtATime() {
+        List<Integer> fullPage = new ArrayList<>();
+        for (int id = 1; id <= EmployeeRepo.MAX_IN_LIST_SIZE; id++) {
+            fullPage.add(id);
+        }
+        when(employeeRepo.findIdsBetween(1, 5000, Limit.of(EmployeeRepo.MAX_IN_LIST_SIZE)))
+                .thenReturn(fullPage).thenReturn(List.of(1001, 1002));
+        when(employeeRepo.deleteRowsByIdIn(anyCollection())).thenAnswer(inv -> inv.getArgument(0, Collection.class).size());
+
+        assertEquals(EmployeeRepo.MAX_IN_LIST_SIZE + 2, employeeService.deleteIdRange(1, 5000));
+        verify(employeeRepo, times(2)).deleteRowsByIdIn(anyCollection());
+        verify(eventPublisher, times(2)).publishEvent(any(EmployeeChangedEvent.class));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.deleteIdRange(5, 1));
     }
 
     @Test
@@ -118,13 +263,163 @@ class EmployeeServiceImplTest {
         assertEquals("Hari Duddukunta", result.getEmpName());
     }
 
+    @Test
+    void testPatchEmployee_SingleConditionalUpdate() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setVersion(3);
+        patch.setSalary(55000);
+        when(employeeRepo.patchEmployee(101, 3, null, null, null, 55000)).thenReturn(1);
+
+        employeeService.patchEmployee(101, patch);
+
+        verify(employeeRepo, never()).findByEmpId(anyInt());
+        verify(employeeRepo, never()).existsByEmpId(anyInt());
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof EmployeeChangedEvent changed
+                && changed.getType() == EmployeeChangedEvent.Type.PATCHED && changed.getEmpId() == 101));
+    }
+
+    @Test
+    void testPatchEmployee_ConflictAndNotFound() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setVersion(3);
+        patch.setEmpName("New");
+        when(employeeRepo.patchEmployee(anyInt(), eq(3), eq("New"), isNull(), isNull(), isNull())).thenReturn(0);
+        when(employeeRepo.existsByEmpId(101)).thenReturn(true);
+        when(employeeRepo.existsByEmpId(999)).thenReturn(false);
+
+        assertThrows(EmployeeVersionConflictException.class, () -> employeeService.patchEmployee(101, patch));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.patchEmployee(999, patch));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.patchEmployee(101, new EmployeePatch()));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void testFindAllUnderManager() {
         employee.setManager_id(200);
-        when(employeeRepo.findAll()).thenReturn(Collections.singletonList(employee));
+        when(managerIndex.isReady()).thenReturn(true);
+        when(managerIndex.reportsOf(200)).thenReturn(new int[]{1});
+        when(employeeRepo.findDtosByIdIn(List.of(1))).thenReturn(Collections.singletonList(toDto(employee)));
         List<EmployeeDTO> employees = employeeService.findAllUnderManager(200);
         assertNotNull(employees);
         assertEquals(1, employees.size());
+        verify(employeeRepo, never()).findAll();
+    }
+
+    @Test
+    void testFindAllUnderManager_IndexNotReady() {
+        employee.setManager_id(200);
+        when(managerIndex.isReady()).thenReturn(false);
+        when(employeeRepo.findDtosByManagerId(200)).thenReturn(Collections.singletonList(toDto(employee)));
+        List<EmployeeDTO> employees = employeeService.findAllUnderManager(200);
+        assertEquals(1, employees.size());
+        verify(employeeRepo, never()).findAll();
+    }
+
+    @Test
+    void testReadsServedFromReplica() {
+        when(employeeReplica.isReady()).thenReturn(true);
+        when(employeeReplica.findByEmpId(101)).thenReturn(Optional.of(employee));
+        when(employeeReplica.findByManagerId(200)).thenReturn(List.of(toDto(employee)));
+        when(employeeReplica.findAll()).thenReturn(List.of(employee));
+
+        assertSame(employee, employeeService.getEmployeeById(101));
+        assertEquals(1, employeeService.findAllUnderManager(200).size());
+        assertEquals(List.of(employee), employeeService.findAll());
+        verifyNoInteractions(employeeRepo, employeeCache);
+
+        // With the manager index built, reports are looked up by id instead of scanned.
+        employee.setManager_id(200);
+        when(managerIndex.isReady()).thenReturn(true);
+        when(managerIndex.reportsOf(200)).thenReturn(new int[]{1});
+        when(employeeReplica.findDtosByIds(new int[]{1})).thenReturn(List.of(toDto(employee)));
+        assertEquals(1, employeeService.findAllUnderManager(200).size());
+        verify(employeeReplica, times(1)).findByManagerId(200);
+        verifyNoInteractions(employeeRepo);
+    }
+
+    @Test
+    void testSalaryStats_FromIndex() {
+        when(salaryStatsIndex.isReady()).thenReturn(true);
+        when(salaryStatsIndex.stats(SalaryStats.GroupBy.MANAGER_ID)).thenReturn(List.of(
+                new SalaryStats("200", 1, 500, 500, 500), new SalaryStats("30", 2, 300, 100, 200)));
+        List<SalaryStats> stats = employeeService.salaryStats(SalaryStats.GroupBy.MANAGER_ID);
+        assertEquals(List.of("30", "200"), stats.stream().map(SalaryStats::getGroup).toList());
+        assertEquals(150.0, stats.get(0).getMeanSalary());
+        verifyNoInteractions(employeeRepo);
+    }
+
+    @Test
+    void testSalaryStats_IndexNotReady() {
+        when(salaryStatsIndex.isReady()).thenReturn(false);
+        when(employeeRepo.findSalaryStatsByDesignation()).thenReturn(List.of(
+                new SalaryStats("SE", 1, 100, 100, 100), new SalaryStats(null, 1, 50, 50, 50)));
+        List<SalaryStats> stats = employeeService.salaryStats(SalaryStats.GroupBy.DESIGNATION);
+        assertNull(stats.get(0).getGroup());
+        assertEquals("SE", stats.get(1).getGroup());
+        verify(salaryStatsIndex, never()).stats(any());
+    }
+
+    @Test
+    void testSearchByName_KeepsRankOrder() {
+        when(nameSearchIndex.isReady()).thenReturn(true);
+        when(nameSearchIndex.search("hari", true, 20)).thenReturn(new int[]{7, 3});
+        EmployeeDTO second = new EmployeeDTO();
+        second.setEmpId(3);
+        EmployeeDTO first = new EmployeeDTO();
+        first.setEmpId(7);
+        when(employeeRepo.findDtosByEmpIdIn(List.of(7, 3))).thenReturn(List.of(second, first));
+        assertEquals(List.of(first, second), employeeService.searchByName("hari", true, 20));
+    }
+
+    @Test
+    void testSearchByName_IndexNotReady() {
+        when(nameSearchIndex.isReady()).thenReturn(false);
+        assertThrows(IndexNotReadyException.class, () -> employeeService.searchByName("hari", true, 20));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchByName("hari", true, 101));
+    }
+
+    @Test
+    void testCreateEmployee_PublishesChange() {
+        when(employeeRepo.save(employee)).thenReturn(employee);
+        employeeService.createEmployee(employee);
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof EmployeeChangedEvent changed
+                && changed.getType() == EmployeeChangedEvent.Type.SAVED
+                && changed.getEmployees().contains(employee)));
+    }
+
+    @Test
+    void testGetOrgTree_FillsEmployeeDetails() {
+        OrgTreeNode root = new OrgTreeNode();
+        root.setEmpId(101);
+        root.setHeadcount(1);
+        OrgTreeNode report = new OrgTreeNode();
+        report.setEmpId(102);
+        root.getReports().add(report);
+        Employee reportEmployee = new Employee();
+        reportEmployee.setEmpId(102);
+        reportEmployee.setEmpName("Report");
+
+        when(orgTreeIndex.isReady()).thenReturn(true);
+        when(orgTreeIndex.subtree(101, 2)).thenReturn(root);
+        when(employeeRepo.findDtosByEmpIdIn(List.of(101, 102))).thenReturn(List.of(toDto(employee), toDto(reportEmployee)));
+
+        OrgTreeNode tree = employeeService.getOrgTree(101, 2);
+
+        assertEquals("Hari Duddukunta", tree.getEmployee().getEmpName());
+        assertEquals("Report", tree.getReports().get(0).getEmployee().getEmpName());
+        verify(employeeRepo, never()).findAll();
+    }
+
+    @Test
+    void testGetOrgTree_Errors() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getOrgTree(101, -1));
+
+        when(orgTreeIndex.isReady()).thenReturn(false);
+        assertThrows(IndexNotReadyException.class, () -> employeeService.getOrgTree(101, 2));
+
+        when(orgTreeIndex.isReady()).thenReturn(true);
+        when(orgTreeIndex.subtree(999, 2)).thenReturn(null);
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getOrgTree(999, 2));
     }
 
     @Test
@@ -134,7 +429,7 @@ class EmployeeServiceImplTest {
 
     @Test
     void testUpdateFindAll() {
-        when(employeeRepo.findAll()).thenReturn(getMockEmployees());
+        when(employeeRepo.findAllDtos()).thenReturn(getMockEmployees().stream().map(this::toDto).toList());
         List<EmployeeDTO> employeeDTOS = employeeService.updateFindAll();
 
         assertNotNull(employeeDTOS);
@@ -144,6 +439,26 @@ class EmployeeServiceImplTest {
         assertNotNull(employeeDTOS.get(1).getDesignation());
     }
 
+    @Test
+    void testUpdateFindAll_ManagersGetSeniorBandInParallel() {
+        List<Employee> employees = getMockEmployees();
+        Employee manager = new Employee();
+        manager.setId(20);
+        manager.setEmpId(10);
+        manager.setManager_id(1);
+        employees.add(manager);
+        when(employeeRepo.findAllDtos()).thenReturn(employees.stream().map(this::toDto).toList());
+        employeeService.setParallelThreshold(0);
+
+        List<EmployeeDTO> employeeDTOS = employeeService.updateFindAll();
+
+        assertEquals(List.of(112, 113, 0, 10), employeeDTOS.stream().map(EmployeeDTO::getEmpId).toList());
+        EmployeeDTO managerDto = employeeDTOS.get(3);
+        assertEquals("Senior Manager", managerDto.getDesignation());
+        assertTrue(managerDto.getSalary() >= 80000 && managerDto.getSalary() < 99000);
+        employeeDTOS.subList(0, 2).forEach(dto -> assertTrue(dto.getSalary() >= 10000 && dto.getSalary() < 70000));
+    }
+
     @Test
     void testGetEmployeeById_EmployeeExists() {
         int empId = 101;
@@ -175,16 +490,23 @@ class EmployeeServiceImplTest {
 
     @Test
     void testGetTop1000Employees() {
-        // Mocking repository call
-        Pageable pageable = PageRequest.of(0, 1000);
-        Page<Employee> mockPage = new PageImpl<>(mockEmployees);
-        when(employeeRepo.findAll(pageable)).thenReturn(mockPage);
+        // Filter, order and limit are all pushed into the query
+        Pageable pageable = PageRequest.of(0, 1000, Sort.by(Sort.Order.desc("salary"), Sort.Order.asc("id")));
+        List<Employee> topEarners = mockEmployees.subList(0, 500);
+        when(employeeRepo.findBySalaryGreaterThan(40000, pageable)).thenReturn(new SliceImpl<>(topEarners, pageable, false));
         // Calling the service method
         List<Employee> result = employeeService.getTop1000Employees();
         // Assertions
-        assertNotNull(result);
-        assertEquals(500, result.size());
-        verify(employeeRepo, times(1)).findAll(pageable);
+        assertEquals(topEarners, result);
+        verify(employeeRepo, times(1)).findBySalaryGreaterThan(40000, pageable);
+        verify(employeeRepo, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testGetTopEmployees_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getTopEmployees(40000, 0));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getTopEmployees(40000, 5001));
+        verifyNoInteractions(employeeRepo);
     }
 
     @Test
@@ -202,7 +524,8 @@ class EmployeeServiceImplTest {
 
     @Test
     void testValidateEmployee_UsingReflection() throws Exception {
-        EmployeeServiceImpl service = new EmployeeServiceImpl(employeeRepo);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(employeeRepo, managerIndex, orgTreeIndex, salaryStatsIndex,
+                nameSearchIndex, employeeReplica, employeeImportService, employeeCache, eventPublisher);
         Method method = EmployeeServiceImpl.class.getDeclaredMethod("validateEmployee", Employee.class);
         method.setAccessible(true);
 
@@ -275,5 +598,9 @@ class EmployeeServiceImplTest {
 
         return employeeList;
     }
-}
 
+    private EmployeeDTO toDto(Employee e) {
+        return new EmployeeDTO(e.getId(), e.getEmpId(), e.getEmpName(), e.getFatherName(), e.getGender(),
+                e.getCategory(), e.getManager_id(), e.getDesignation(), e.getSalary());
+    }
+}
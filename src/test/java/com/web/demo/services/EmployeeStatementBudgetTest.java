@@ -0,0 +1,128 @@
+package com.web.demo.services;
+
+import com.web.demo.caches.EmployeeCache;
+import com.web.demo.dtos.EmployeePatch;
+import com.web.demo.metrics.StatementTracker;
+import com.web.demo.models.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins how many JDBC statements the main service calls issue against H2, so a change that turns a
+ * set-based path back into a query per row fails here rather than in production.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class EmployeeStatementBudgetTest {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM EMPLOYEE_DATA");
+        jdbcTemplate.batchUpdate("INSERT INTO EMPLOYEE_DATA (ID, EMP_ID, EMP_NAME, MANAGER_ID, SALARY, VERSION) "
+                + "VALUES (?, ?, ?, 0, 1000, 0)", IntStream.rangeClosed(1, ROWS)
+                .mapToObj(id -> new Object[]{id, 100 + id, "E" + id}).toList());
+        employeeCache.invalidateAll();
+    }
+
+    @Test
+    void testFindByEmpIdIsOneQueryThenCached() {
+        try (StatementTracker.Scope scope = StatementTracker.start()) {
+            employeeService.findByEmpId(101);
+            scope.assertExactly(1);
+            employeeService.findByEmpId(101);
+            scope.assertExactly(1);
+        }
+    }
+
+    @Test
+    void testPatchIsOneUpdate() {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setVersion(0);
+        patch.setSalary(2000);
+        try (StatementTracker.Scope scope = StatementTracker.start()) {
+            employeeService.patchEmployee(101, patch);
+            scope.assertExactly(1);
+        }
+    }
+
+    @Test
+    void testUpdateEmpIsOneSelectAndOneUpdate() {
+        Employee employee = new Employee();
+        employee.setEmpName("Renamed");
+        try (StatementTracker.Scope scope = StatementTracker.start()) {
+            employeeService.updateEmp(101, employee);
+            scope.assertAtMost(2);
+        }
+    }
+
+    @Test
+    void testSalaryImportIsSetBased() {
+        String json = IntStream.rangeClosed(1, ROWS)
+                .mapToObj(id -> "{\"empId\":" + (100 + id) + ",\"salary\":5000,\"designation\":\"Lead\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        try (StatementTracker.Scope scope = StatementTracker.start()) {
+            employeeImportService.importSalaryUpdates(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+            // One IN lookup and one UPDATE batch per chunk of 500, never a statement per row.
+            scope.assertAtMost(2).assertNoShapeRepeatedMoreThan(1);
+        }
+        assertEquals(ROWS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEE_DATA WHERE SALARY = 5000",
+                Integer.class));
+    }
+
+    @Test
+    void testDeletesAreSetBased() {
+        try (StatementTracker.Scope scope = StatementTracker.start()) {
+            employeeService.deleteById(1);
+            scope.assertExactly(1);
+        }
+        try (StatementTracker.Scope scope = StatementTracker.start()) {
+            // One id lookup and one DELETE, however many empIds are listed.
+            employeeService.deleteByEmpIds(List.of(102, 103, 104, 999));
+            scope.assertExactly(2);
+        }
+        try (StatementTracker.Scope scope = StatementTracker.start()) {
+            employeeService.deleteIdRange(5, 10);
+            scope.assertExactly(2);
+        }
+        assertEquals(ROWS - 10, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEE_DATA", Integer.class));
+
+        try (StatementTracker.Scope scope = StatementTracker.start()) {
+            employeeService.deleteAll();
+            scope.assertExactly(1);
+        }
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EMPLOYEE_DATA", Integer.class));
+    }
+}
@@ -0,0 +1,137 @@
+package com.web.demo.services;
+
+import com.web.demo.caches.EmployeeCache;
+import com.web.demo.events.EmployeeChangedEvent;
+import com.web.demo.models.Employee;
+import com.web.demo.repos.ReactiveEmployeeRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEmployeeServiceImplTest {
+
+    private static final int ROWS = 5;
+
+    @Mock
+    private ReactiveEmployeeRepo reactiveEmployeeRepo;
+
+    @Mock
+    private EmployeeCache employeeCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReactiveEmployeeServiceImpl reactiveEmployeeService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveEmployeeService = new ReactiveEmployeeServiceImpl(reactiveEmployeeRepo, employeeCache, eventPublisher);
+        reactiveEmployeeService.setStreamPageSize(2);
+    }
+
+    @Test
+    void testStreamReadsAtMostOnePageAhead() {
+        AtomicInteger queries = stubPages(ROWS);
+
+        List<Employee> first = reactiveEmployeeService.findPageAfter(Integer.MIN_VALUE).block();
+        List<Integer> received = new ArrayList<>();
+        BaseSubscriber<Employee> subscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(Employee employee) {
+                received.add(employee.getId());
+            }
+        };
+        reactiveEmployeeService.streamFrom(first).subscribe(subscriber);
+        // While the first page is being sent, the second is read; the third waits for demand.
+        assertEquals(List.of(1), received);
+        assertEquals(2, queries.get());
+
+        subscriber.request(1);
+        assertEquals(List.of(1, 2), received);
+        assertEquals(3, queries.get());
+
+        subscriber.request(10);
+        assertEquals(IntStream.rangeClosed(1, ROWS).boxed().toList(), received);
+        // The last page is short, so the stream ends without a query for an empty one.
+        assertEquals(3, queries.get());
+        assertTrue(subscriber.isDisposed());
+    }
+
+    @Test
+    void testStreamOfManyPagesKeepsOrderWithoutDeepening() {
+        int rows = 10_000;
+        AtomicInteger queries = stubPages(rows);
+
+        List<Employee> first = reactiveEmployeeService.findPageAfter(Integer.MIN_VALUE).block();
+        // Synchronous pages: an operator chain that grew with every page would overflow the stack here.
+        List<Integer> received = reactiveEmployeeService.streamFrom(first).map(Employee::getId).collectList().block();
+
+        assertEquals(IntStream.rangeClosed(1, rows).boxed().toList(), received);
+        assertEquals(rows / 2 + 1, queries.get());
+    }
+
+    @Test
+    void testCreateInsertsThenPublishes() {
+        when(reactiveEmployeeRepo.insert(any())).thenReturn(Mono.just(1));
+        Employee employee = employee(7);
+        employee.setVersion(3);
+
+        assertSame(employee, reactiveEmployeeService.createEmployee(employee).block());
+        assertEquals(0, employee.getVersion());
+        verify(eventPublisher).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    @Test
+    void testCreateRejectsBlankNameWithoutWriting() {
+        Employee employee = employee(7);
+        employee.setEmpName(" ");
+
+        Mono<Employee> created = reactiveEmployeeService.createEmployee(employee);
+        assertThrows(IllegalArgumentException.class, created::block);
+        verifyNoInteractions(reactiveEmployeeRepo, eventPublisher);
+    }
+
+    /**
+     * Pages of two over ids 1..rows, served synchronously; returns the number of queries run.
+     */
+    private AtomicInteger stubPages(int rows) {
+        AtomicInteger queries = new AtomicInteger();
+        when(reactiveEmployeeRepo.findPageAfter(anyInt(), eq(2))).thenAnswer(invocation -> Flux.defer(() -> {
+            queries.incrementAndGet();
+            int afterId = Math.max(0, invocation.<Integer>getArgument(0));
+            return Flux.range(afterId + 1, Math.max(0, Math.min(2, rows - afterId))).map(this::employee);
+        }));
+        return queries;
+    }
+
+    private Employee employee(int id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmpId(100 + id);
+        employee.setEmpName("E" + id);
+        return employee;
+    }
+}
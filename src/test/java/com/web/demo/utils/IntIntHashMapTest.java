@@ -0,0 +1,93 @@
+package com.web.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntHashMapTest {
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        IntIntHashMap map = new IntIntHashMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000) - 2_500;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? -1 : removed, map.remove(key, -1));
+            } else {
+                Integer previous = expected.put(key, i);
+                assertEquals(previous == null ? -1 : previous, map.put(key, i, -1));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key, -1)));
+    }
+
+    @Test
+    void testOffHeapMapMatchesHashMapAndLeavesPublishedCopiesUnchanged() {
+        OffHeapIntIntMap map = OffHeapIntIntMap.empty(20_000);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            OffHeapIntIntMap.Editor editor = map.edit();
+            for (int i = 0; i < 500; i++) {
+                int key = random.nextInt(20_000) - 10_000;
+                if (random.nextInt(3) == 0) {
+                    Integer removed = expected.remove(key);
+                    assertEquals(removed == null ? -1 : removed, editor.remove(key, -1));
+                } else {
+                    Integer previous = expected.put(key, i);
+                    assertEquals(previous == null ? -1 : previous, editor.put(key, i, -1));
+                }
+            }
+            OffHeapIntIntMap previous = map;
+            int previousSize = previous.size();
+            int probe = random.nextInt(20_000) - 10_000;
+            int probeValue = previous.get(probe, -1);
+            map = editor.publish();
+            assertEquals(previousSize, previous.size());
+            assertEquals(probeValue, previous.get(probe, -1));
+        }
+        assertEquals(expected.size(), map.size());
+        OffHeapIntIntMap result = map;
+        expected.forEach((key, value) -> assertEquals(value, result.get(key, -1)));
+        assertThrows(IllegalArgumentException.class, () -> result.edit().put(1, -5, -1));
+    }
+
+    @Test
+    void testMultimapBuckets() {
+        IntArrayMultimap multimap = new IntArrayMultimap();
+        for (int i = 0; i < 100; i++) {
+            multimap.put(i % 3, i);
+        }
+        assertEquals(3, multimap.keyCount());
+        assertEquals(34, multimap.count(0));
+        assertTrue(multimap.remove(0, 99));
+        assertFalse(multimap.remove(0, 99));
+        assertEquals(33, multimap.get(0).length);
+        assertEquals(99, multimap.valueCount());
+    }
+
+    @Test
+    void testIntHashSetMatchesHashSet() {
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(20_000) - 10_000;
+            assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+        for (int key = -10_000; key < 10_000; key++) {
+            assertEquals(expected.contains(key), set.contains(key));
+        }
+    }
+}